@@ -0,0 +1,49 @@
+package dev.jorel.commandapi.benchmarks;
+import java.io.File;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import de.tr7zw.changeme.nbtapi.NBTContainer;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIConfig;
+import dev.jorel.commandapi.nms.NMS_1_19_3_R2;
+import dev.jorel.commandapi.test.MockNMS;
+
+/**
+ * The plugin loaded by MockBukkit for benchmarks. Unlike the plugin tests, this
+ * doesn't write a dispatcher file, so registration isn't dominated by file IO
+ */
+public class BenchmarkPlugin extends JavaPlugin {
+
+	@Override
+	public void onLoad() {
+		CommandAPI.onLoad(new CommandAPIConfig()
+			.useLatestNMSVersion(true)
+			.silentLogs(true)
+			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
+			.setCustomNMS(new MockNMS(new NMS_1_19_3_R2()))
+		);
+	}
+
+	@Override
+	public void onEnable() {
+		CommandAPI.onEnable(this);
+	}
+
+	@Override
+	public void onDisable() {
+		CommandAPI.onDisable();
+	}
+
+	// Additional constructors required for MockBukkit
+	public BenchmarkPlugin() {
+		super();
+	}
+
+	public BenchmarkPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+		super(loader, description, dataFolder, file);
+	}
+
+}
@@ -0,0 +1,155 @@
+package dev.jorel.commandapi.benchmarks;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares checking registered paths for conflicts before and after they were
+ * indexed. Two commands are registered with the same subcommands, so every
+ * subcommand of the second command is checked against the first command's
+ * paths. {@link #scan()} is the check the CommandAPI used before, which
+ * searches the list of every registered path for the command's name.
+ * {@link #index()} is the tree of registered paths the CommandAPI uses now.
+ * <p>
+ * This only measures the conflict check. {@link RegistrationBenchmark}
+ * measures the whole registration, which also builds the Brigadier nodes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+	private static final String[] COMMANDS = { "first", "second" };
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int subcommands;
+
+	private String[][] nodeNames;
+	private String[][] argumentTypes;
+
+	@Setup
+	public void setUp() {
+		nodeNames = new String[subcommands][];
+		argumentTypes = new String[subcommands][];
+		for (int i = 0; i < subcommands; i++) {
+			nodeNames[i] = new String[] { "sub" + i, "value" };
+			argumentTypes[i] = new String[] { "LiteralArgument", "IntegerArgument" };
+		}
+	}
+
+	@Benchmark
+	public int scan() {
+		List<ScannedCommand> registeredCommands = new ArrayList<>();
+		int conflicts = 0;
+		for (String commandName : COMMANDS) {
+			for (int i = 0; i < subcommands; i++) {
+				boolean hasRegisteredCommand = false;
+				for (int j = 0, size = registeredCommands.size(); j < size && !hasRegisteredCommand; j++) {
+					hasRegisteredCommand |= registeredCommands.get(j).commandName().equals(commandName);
+				}
+				if (hasRegisteredCommand && scanForConflict(registeredCommands, commandName, nodeNames[i], argumentTypes[i])) {
+					conflicts++;
+				} else {
+					List<String> argsAsStr = new ArrayList<>();
+					for (int j = 0; j < nodeNames[i].length; j++) {
+						argsAsStr.add(nodeNames[i][j] + ":" + argumentTypes[i][j]);
+					}
+					registeredCommands.add(new ScannedCommand(commandName, argsAsStr));
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	// The conflict check from before registered paths were indexed
+	private static boolean scanForConflict(List<ScannedCommand> registeredCommands, String commandName,
+			String[] nodeNames, String[] argumentTypes) {
+		List<String[]> regArgs = new ArrayList<>();
+		for (ScannedCommand rCommand : registeredCommands) {
+			if (rCommand.commandName().equals(commandName)) {
+				for (String str : rCommand.argsAsStr()) {
+					regArgs.add(str.split(":"));
+				}
+				break;
+			}
+		}
+		for (int i = 0; i < nodeNames.length; i++) {
+			if (regArgs.size() == i && regArgs.size() < nodeNames.length) {
+				break;
+			}
+			if (!regArgs.get(i)[0].equals(nodeNames[i])) {
+				break;
+			}
+			if (i == nodeNames.length - 1 && !regArgs.get(i)[1].equals(argumentTypes[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Benchmark
+	public int index() {
+		Map<String, IndexedNode> registeredNodes = new HashMap<>();
+		int conflicts = 0;
+		for (String commandName : COMMANDS) {
+			for (int i = 0; i < subcommands; i++) {
+				if (indexHasConflict(registeredNodes, commandName, nodeNames[i], argumentTypes[i])) {
+					conflicts++;
+				} else {
+					IndexedNode node = registeredNodes.computeIfAbsent(commandName, name -> new IndexedNode(null));
+					for (int j = 0; j < nodeNames[i].length; j++) {
+						String argumentType = argumentTypes[i][j];
+						node = node.children.computeIfAbsent(nodeNames[i][j], name -> new IndexedNode(argumentType));
+					}
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	// The conflict check which walks down the tree of registered paths
+	private static boolean indexHasConflict(Map<String, IndexedNode> registeredNodes, String commandName,
+			String[] nodeNames, String[] argumentTypes) {
+		IndexedNode node = registeredNodes.get(commandName);
+		for (int i = 0; node != null && i < nodeNames.length; i++) {
+			node = node.children.get(nodeNames[i]);
+			if (node != null && i == nodeNames.length - 1 && !node.argumentType.equals(argumentTypes[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record ScannedCommand(String commandName, List<String> argsAsStr) {
+	}
+
+	private static final class IndexedNode {
+
+		final String argumentType;
+		final Map<String, IndexedNode> children;
+
+		IndexedNode(String argumentType) {
+			this.argumentType = argumentType;
+			this.children = new HashMap<>();
+		}
+
+	}
+
+}
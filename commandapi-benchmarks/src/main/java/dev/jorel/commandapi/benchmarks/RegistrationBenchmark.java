@@ -0,0 +1,73 @@
+package dev.jorel.commandapi.benchmarks;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+
+/**
+ * Measures how long it takes to register a command with many subcommands.
+ * Every subcommand is checked for conflicts against the paths already
+ * registered for the command, so this shows how conflict checking scales with
+ * the number of registered paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegistrationBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int subcommands;
+
+	private BenchmarkPlugin plugin;
+	private int commandCount;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		MockBukkit.mock();
+		plugin = MockBukkit.loadWith(BenchmarkPlugin.class,
+			new PluginDescriptionFile("CommandAPIBenchmark", "1.0", BenchmarkPlugin.class.getName()));
+		commandCount = 0;
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+	}
+
+	@Benchmark
+	public void registerSubcommands() {
+		String commandName = "benchmark" + commandCount++;
+		for (int i = 0; i < subcommands; i++) {
+			new CommandAPICommand(commandName)
+				.withArguments(new LiteralArgument("sub" + i))
+				.withArguments(new IntegerArgument("value"))
+				.executes((sender, args) -> {
+				})
+				.register();
+		}
+	}
+
+}
@@ -20,8 +20,11 @@
  *******************************************************************************/
 package dev.jorel.commandapi;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +36,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
@@ -61,6 +65,7 @@ public final class CommandAPI {
 	static InternalConfig config;
 	static Logger logger;
 	private static boolean loaded;
+	private static Plugin plugin;
 
 	/**
 	 * Returns whether the CommandAPI is currently loaded. This should be true when
@@ -106,10 +111,17 @@ public final class CommandAPI {
 		CommandAPI.config = null;
 		CommandAPI.logger = null;
 		CommandAPI.loaded = false;
+		CommandAPI.plugin = null;
 
 		CommandAPIHandler.onDisable();
 	}
 
+	// The plugin which enabled the CommandAPI, used to schedule tasks. This is
+	// null until onEnable() is called
+	static Plugin getPlugin() {
+		return plugin;
+	}
+
 	/**
 	 * Returns the CommandAPI's logger
 	 * 
@@ -178,6 +190,7 @@ public final class CommandAPI {
 		if (!loaded) {
 			CommandAPI.config = new InternalConfig(config);
 			CommandAPIHandler.getInstance().checkDependencies();
+			CommandAPIHandler.getInstance().startProfiling();
 			loaded = true;
 		} else {
 			getLogger().severe("You've tried to call the CommandAPI's onLoad() method more than once!");
@@ -191,17 +204,22 @@ public final class CommandAPI {
 	 * @param plugin the plugin that this onEnable method is called from
 	 */
 	public static void onEnable(Plugin plugin) {
+		CommandAPI.plugin = plugin;
+
 		// Prevent command registration after server has loaded
 		Bukkit.getScheduler().runTaskLater(plugin, () -> {
 			canRegister = false;
 
 			// Sort out permissions after the server has finished registering them all
 			CommandAPIHandler.getInstance().fixPermissions();
+			CommandAPIHandler.getInstance().invalidateAllPermissions();
 			CommandAPIHandler.getInstance().getNMS().reloadDataPacks();
 			CommandAPIHandler.getInstance().updateHelpForCommands();
+			CommandAPIHandler.getInstance().reportProfile();
 		}, 0L);
 
-		// (Re)send command graph packet to players when they join
+		// (Re)send command graph packet to players when they join, and forget their
+		// suggestion requests when they leave
 		Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
 
 			// For some reason, any other priority doesn't work
@@ -210,8 +228,30 @@ public final class CommandAPI {
 				CommandAPIHandler.getInstance().getNMS().resendPackets(e.getPlayer());
 			}
 
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPlayerQuit(PlayerQuitEvent e) {
+				CommandAPIHandler.getInstance().forgetSuggestionRequests(e.getPlayer());
+			}
+
 		}, plugin);
 
+		// Forget cached permissions when they may have changed
+		if (config.shouldCachePermissions()) {
+			Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
+
+				@EventHandler(priority = EventPriority.MONITOR)
+				public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+					CommandAPIHandler.getInstance().invalidatePermissions(e.getPlayer());
+				}
+
+				@EventHandler(priority = EventPriority.MONITOR)
+				public void onPlayerQuit(PlayerQuitEvent e) {
+					CommandAPIHandler.getInstance().invalidatePermissions(e.getPlayer());
+				}
+
+			}, plugin);
+		}
+
 		// On 1.19+, enable chat preview if the server allows it
 		if(CommandAPIHandler.getInstance().getNMS().canUseChatPreview()) {
 			Bukkit.getServer().getPluginManager().registerEvents(new Listener() {
@@ -241,11 +281,28 @@ public final class CommandAPI {
 
 	/**
 	 * Updates the requirements required for a given player to execute a command.
+	 * The updated list of commands is sent to the player immediately, or on the
+	 * next tick if coalesce-requirement-updates is enabled, in which case updating
+	 * the same player several times in one tick only sends it once. This also
+	 * forgets the player's cached permissions, so plugins which change
+	 * a player's permissions should call this if cache-permissions is enabled.
 	 * 
 	 * @param player the player whos requirements to update
 	 */
 	public static void updateRequirements(Player player) {
-		CommandAPIHandler.getInstance().getNMS().resendPackets(player);
+		CommandAPIHandler.getInstance().updateRequirements(List.of(player));
+	}
+
+	/**
+	 * Updates the requirements required for a number of players to execute a
+	 * command. The updated list of commands is sent to each player immediately,
+	 * or once on the next tick if coalesce-requirement-updates is enabled. This
+	 * also forgets the players' cached permissions.
+	 * 
+	 * @param players the players whose requirements to update
+	 */
+	public static void updateRequirements(Collection<? extends Player> players) {
+		CommandAPIHandler.getInstance().updateRequirements(players);
 	}
 
 	/**
@@ -324,6 +381,35 @@ public final class CommandAPI {
 		return canRegister;
 	}
 
+	/**
+	 * Runs a task on the server thread. This can be used by asynchronous command
+	 * executors (see {@link Executable#executesAsync}) to use the Bukkit API. If
+	 * this is called on the server thread, the task is run immediately.
+	 * 
+	 * @param <T>  the type of the result of the task
+	 * @param task the task to run on the server thread
+	 * @return a future which completes with the result of the task once it has
+	 *         run on the server thread
+	 */
+	public static <T> CompletableFuture<T> runSync(Supplier<T> task) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Runnable runnable = () -> {
+			try {
+				result.complete(task.get());
+			} catch (Throwable t) {
+				result.completeExceptionally(t);
+			}
+		};
+		if (Bukkit.isPrimaryThread()) {
+			runnable.run();
+		} else if (plugin == null) {
+			result.completeExceptionally(new IllegalStateException("Cannot run a task on the server thread before the CommandAPI is enabled"));
+		} else {
+			Bukkit.getScheduler().runTask(plugin, runnable);
+		}
+		return result;
+	}
+
 	/**
 	 * Unregisters a command
 	 * 
@@ -348,6 +434,42 @@ public final class CommandAPI {
 		CommandAPIHandler.getInstance().unregister(command, force);
 	}
 
+	/**
+	 * Unregisters a number of commands at once. This is faster than unregistering
+	 * each command individually, and if the server has already loaded, online
+	 * players are sent the updated list of commands once at the end.
+	 * 
+	 * @param commands the names of the commands to unregister
+	 * @param force    if true, attempt to unregister all instances of the commands
+	 *                 across all plugins as well as minecraft, bukkit and spigot
+	 */
+	public static void unregisterAll(Collection<String> commands, boolean force) {
+		if (!canRegister()) {
+			getLogger().warning("Unexpected unregistering of " + commands.size()
+					+ " commands, as server is loaded! Unregistering anyway, but this can lead to unstable results!");
+		}
+		CommandAPIHandler.getInstance().unregisterAll(commands, force);
+
+		// Players that are already online still have the old commands
+		if (!canRegister()) {
+			updateRequirements(Bukkit.getOnlinePlayers());
+		}
+	}
+
+	/**
+	 * Begins a registration batch. Commands registered after this call are
+	 * collected and only added to the command dispatcher once
+	 * {@link RegistrationBatch#commit()} is called. This avoids regenerating the
+	 * dispatcher file, help topics and permissions after every single command,
+	 * which is useful when registering a large number of commands at once.
+	 * 
+	 * @return a new {@link RegistrationBatch} which must be committed to register
+	 *         its commands
+	 */
+	public static RegistrationBatch beginBatch() {
+		return new RegistrationBatch();
+	}
+
 	/**
 	 * Registers a command. Used with the CommandAPI's Annotation API.
 	 * 
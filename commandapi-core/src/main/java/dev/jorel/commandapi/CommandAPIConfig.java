@@ -21,6 +21,7 @@
 package dev.jorel.commandapi;
 
 import java.io.File;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import dev.jorel.commandapi.nms.NMS;
@@ -37,6 +38,17 @@ public class CommandAPIConfig {
 	boolean silentLogs = false;
 	boolean useLatestNMSVersion = false;
 	String missingExecutorImplementationMessage = "This command has no implementations for %s";
+	boolean redirectAliases = false;
+	boolean profileRegistration = false;
+	int compileThreads = 0;
+	int convertedExpansionLimit = 0;
+	int convertedExpansionsPerTick = 0;
+	boolean cachePermissions = false;
+	long permissionCacheTime = 5000;
+	boolean coalesceRequirementUpdates = false;
+	long previousArgumentsCacheTime = 0;
+	int maxSuggestions = 0;
+	int maxSuggestionTooltipBytes = 0;
 
 	// NBT API
 	Class<?> nbtContainerClass = null;
@@ -44,6 +56,7 @@ public class CommandAPIConfig {
 
 	File dispatcherFile = null;
 	NMS<?> customNMS;
+	Executor asyncExecutor = null;
 
 	/**
 	 * Sets verbose output logging for the CommandAPI if true.
@@ -100,6 +113,170 @@ public class CommandAPIConfig {
 		return this;
 	}
 
+	/**
+	 * Sets whether command aliases should be registered as literal nodes which
+	 * redirect to the command's node. This stops every argument of a command from
+	 * being duplicated for each of its aliases, which reduces the size of the
+	 * command dispatcher and the command graph packet sent to players.
+	 * 
+	 * @param value whether aliases should redirect to the command's node
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig redirectAliases(boolean value) {
+		this.redirectAliases = value;
+		return this;
+	}
+
+	/**
+	 * Sets whether the CommandAPI should record how long each command takes to
+	 * register, how many nodes it creates and how many paths its
+	 * MultiLiteralArguments expand into. A report of every command, slowest first,
+	 * is logged once the server has loaded.
+	 * 
+	 * @param value whether command registration should be profiled
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig profileRegistration(boolean value) {
+		this.profileRegistration = value;
+		return this;
+	}
+
+	/**
+	 * Sets the number of worker threads used to build the command nodes of a
+	 * {@link RegistrationBatch} when it is committed. The built nodes are always
+	 * added to the command dispatcher on the server thread. If this is 0, the
+	 * nodes are built on the server thread too.
+	 * 
+	 * @param threads the number of worker threads to use
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig compileThreads(int threads) {
+		this.compileThreads = threads;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of times a converted command is run for a single
+	 * execution. A converted command is run once for every combination of the
+	 * entities its entity selectors match, which can be very large on busy
+	 * servers. If this is 0, there is no limit.
+	 * 
+	 * @param limit the maximum number of runs of a converted command
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig convertedExpansionLimit(int limit) {
+		this.convertedExpansionLimit = limit;
+		return this;
+	}
+
+	/**
+	 * Sets the number of times a converted command is run in a single tick. If an
+	 * execution of a converted command has to run more times than this, the
+	 * remaining runs are spread over the following ticks. If this is 0, every run
+	 * happens immediately.
+	 * 
+	 * @param runs the number of runs of a converted command per tick
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig convertedExpansionsPerTick(int runs) {
+		this.convertedExpansionsPerTick = runs;
+		return this;
+	}
+
+	/**
+	 * Sets whether the CommandAPI should remember the result of checking a
+	 * player's permission for a command or argument. The command tree is checked
+	 * against a player's permissions whenever it is sent to them and every time
+	 * they type, so this avoids asking the permissions plugin the same question
+	 * many times. Remembered permissions are forgotten when
+	 * {@link CommandAPI#updateRequirements(org.bukkit.entity.Player)} is called
+	 * for the player, when they change world, when they leave and after
+	 * {@link CommandAPIConfig#permissionCacheTime(long)}. Plugins which change a
+	 * player's permissions should call
+	 * {@link CommandAPI#updateRequirements(org.bukkit.entity.Player)} so the
+	 * change is seen immediately.
+	 * 
+	 * @param value whether permission checks should be cached
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig cachePermissions(boolean value) {
+		this.cachePermissions = value;
+		return this;
+	}
+
+	/**
+	 * Sets how long a player's remembered permissions are kept if permissions are
+	 * cached. Permission plugins don't tell the CommandAPI when they change a
+	 * player's permissions, so this bounds how long a changed permission can be
+	 * ignored. If this is 0, remembered permissions are kept until they are
+	 * forgotten for another reason.
+	 * 
+	 * @param millis how long remembered permissions are kept, in milliseconds
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig permissionCacheTime(long millis) {
+		this.permissionCacheTime = millis;
+		return this;
+	}
+
+	/**
+	 * Sets whether {@link CommandAPI#updateRequirements(org.bukkit.entity.Player)}
+	 * should wait until the next tick before sending the updated commands to the
+	 * player. Updating the same player several times in one tick then only sends
+	 * the commands once. If this is false, the commands are sent immediately
+	 * every time.
+	 * 
+	 * @param value whether requirement updates should be sent on the next tick
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig coalesceRequirementUpdates(boolean value) {
+		this.coalesceRequirementUpdates = value;
+		return this;
+	}
+
+	/**
+	 * Sets how long the previous arguments parsed for a player's suggestion
+	 * request are kept. While a player types an argument, the arguments before it
+	 * stay the same, so they don't need to be parsed again for every key the
+	 * player presses. If this is 0, previous arguments are parsed for every
+	 * suggestion request.
+	 * 
+	 * @param millis how long previous arguments are kept, in milliseconds
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig previousArgumentsCacheTime(long millis) {
+		this.previousArgumentsCacheTime = millis;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of suggestions sent to a player for an argument.
+	 * Arguments can override this using {@link dev.jorel.commandapi.arguments.Argument#setMaxSuggestions(int)}.
+	 * If this is 0, every suggestion is sent.
+	 * 
+	 * @param maxSuggestions the maximum number of suggestions
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig maxSuggestions(int maxSuggestions) {
+		this.maxSuggestions = maxSuggestions;
+		return this;
+	}
+
+	/**
+	 * Sets the maximum total size of the tooltips sent to a player for an
+	 * argument's suggestions. Suggestions after this is reached are sent without
+	 * their tooltips. Arguments can override this using
+	 * {@link dev.jorel.commandapi.arguments.Argument#setMaxSuggestionTooltipBytes(int)}. If this is 0, every
+	 * tooltip is sent.
+	 * 
+	 * @param bytes the maximum size of the tooltips, in bytes of UTF-8 text
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig maxSuggestionTooltipBytes(int bytes) {
+		this.maxSuggestionTooltipBytes = bytes;
+		return this;
+	}
+
 	/**
 	 * Initializes the CommandAPI's implementation of an NBT API.
 	 * 
@@ -136,6 +313,20 @@ public class CommandAPIConfig {
 		return this;
 	}
 	
+	/**
+	 * Sets the executor that asynchronous command executors (see
+	 * {@link Executable#executesAsync}) run on. By default, the CommandAPI uses
+	 * virtual threads if the JVM supports them, and otherwise a pool of daemon
+	 * threads.
+	 * 
+	 * @param executor the executor that asynchronous commands should run on
+	 * @return this CommandAPIConfig
+	 */
+	public CommandAPIConfig asyncExecutor(Executor executor) {
+		this.asyncExecutor = executor;
+		return this;
+	}
+
 	/**
 	 * Internal. Do not use.
 	 * @param customNMS the NMS implementation to use instead of any existing implementations
@@ -22,7 +22,7 @@ package dev.jorel.commandapi;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import org.bukkit.command.BlockCommandSender;
 import org.bukkit.command.CommandSender;
@@ -53,6 +53,7 @@ public class CommandAPIExecutor<T extends CommandSender> {
 
 	private List<IExecutorNormal<T>> normalExecutors;
 	private List<IExecutorResulting<T>> resultingExecutors;
+	private volatile Dispatch dispatch;
 
 	public CommandAPIExecutor() {
 		normalExecutors = new ArrayList<>();
@@ -70,63 +71,33 @@ public class CommandAPIExecutor<T extends CommandSender> {
 	}
 
 	public int execute(CommandSender sender, Object[] arguments) throws CommandSyntaxException {
-
-		// Parse executor type
-		if (!resultingExecutors.isEmpty()) {
-			// Run resulting executor
-			try {
-				return execute(resultingExecutors, sender, arguments);
-			} catch (WrapperCommandSyntaxException e) {
-				throw e.getException();
-			} catch (Exception e) {
-				e.printStackTrace(System.out);
-				return 0;
-			}
-		} else {
-			// Run normal executor
-			try {
-				return execute(normalExecutors, sender, arguments);
-			} catch (WrapperCommandSyntaxException e) {
-				throw e.getException();
-			} catch (Exception e) {
-				e.printStackTrace(System.out);
-				return 0;
+		Optional<IExecutorTyped> executor = dispatch().get(sender.getClass());
+		try {
+			if (executor.isEmpty()) {
+				throw new WrapperCommandSyntaxException(new SimpleCommandExceptionType(
+						new LiteralMessage(CommandAPI.getConfiguration().getMissingImplementationMessage()
+								.replace("%s", sender.getClass().getSimpleName().toLowerCase())
+								.replace("%S", sender.getClass().getSimpleName()))).create());
 			}
+			return executor.get().executeWith(sender, arguments);
+		} catch (WrapperCommandSyntaxException e) {
+			throw e.getException();
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return 0;
 		}
 	}
 
-	private int execute(List<? extends IExecutorTyped> executors, CommandSender sender, Object[] args)
-			throws WrapperCommandSyntaxException {
-		if (isForceNative()) {
-			return execute(executors, sender, args, ExecutorType.NATIVE);
-		} else if (sender instanceof Player && matches(executors, ExecutorType.PLAYER)) {
-			return execute(executors, sender, args, ExecutorType.PLAYER);
-		} else if (sender instanceof Entity && matches(executors, ExecutorType.ENTITY)) {
-			return execute(executors, sender, args, ExecutorType.ENTITY);
-		} else if (sender instanceof ConsoleCommandSender && matches(executors, ExecutorType.CONSOLE)) {
-			return execute(executors, sender, args, ExecutorType.CONSOLE);
-		} else if (sender instanceof BlockCommandSender && matches(executors, ExecutorType.BLOCK)) {
-			return execute(executors, sender, args, ExecutorType.BLOCK);
-		} else if (sender instanceof ProxiedCommandSender && matches(executors, ExecutorType.PROXY)) {
-			return execute(executors, sender, args, ExecutorType.PROXY);
-		} else if (matches(executors, ExecutorType.ALL)) {
-			return execute(executors, sender, args, ExecutorType.ALL);
-		} else {
-			throw new WrapperCommandSyntaxException(new SimpleCommandExceptionType(
-					new LiteralMessage(CommandAPI.getConfiguration().getMissingImplementationMessage()
-							.replace("%s", sender.getClass().getSimpleName().toLowerCase())
-							.replace("%S", sender.getClass().getSimpleName()))).create());
-		}
-	}
-
-	private int execute(List<? extends IExecutorTyped> executors, CommandSender sender, Object[] args,
-			ExecutorType type) throws WrapperCommandSyntaxException {
-		for (IExecutorTyped executor : executors) {
-			if (executor.getType() == type) {
-				return executor.executeWith(sender, args);
-			}
+	// Returns the dispatch table for the current executors, rebuilding it if
+	// executors have been added since it was built
+	private Dispatch dispatch() {
+		Dispatch current = this.dispatch;
+		if (current == null || current.normalExecutorCount != normalExecutors.size()
+				|| current.resultingExecutorCount != resultingExecutors.size()) {
+			current = new Dispatch();
+			this.dispatch = current;
 		}
-		throw new NoSuchElementException("Executor had no valid executors for type " + type.toString());
+		return current;
 	}
 
 	public List<IExecutorNormal<T>> getNormalExecutors() {
@@ -142,7 +113,7 @@ public class CommandAPIExecutor<T extends CommandSender> {
 	}
 
 	public boolean isForceNative() {
-		return matches(normalExecutors, ExecutorType.NATIVE) || matches(resultingExecutors, ExecutorType.NATIVE);
+		return dispatch().forceNative;
 	}
 
 	private boolean matches(List<? extends IExecutorTyped> executors, ExecutorType type) {
@@ -165,9 +136,65 @@ public class CommandAPIExecutor<T extends CommandSender> {
 
 	public void setNormalExecutors(List<IExecutorNormal<T>> normalExecutors) {
 		this.normalExecutors = normalExecutors;
+		this.dispatch = null;
 	}
 
 	public void setResultingExecutors(List<IExecutorResulting<T>> resultingExecutors) {
 		this.resultingExecutors = resultingExecutors;
+		this.dispatch = null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Resolves which executor runs for each class of command sender. Resolving an
+	 * executor is the same for every sender of the same class, so it's only done
+	 * once per class instead of every time the command is executed
+	 */
+	private final class Dispatch extends ClassValue<Optional<IExecutorTyped>> {
+
+		final int normalExecutorCount;
+		final int resultingExecutorCount;
+		final boolean forceNative;
+
+		// Resulting executors take priority over normal executors
+		private final List<IExecutorTyped> executors;
+
+		Dispatch() {
+			this.normalExecutorCount = normalExecutors.size();
+			this.resultingExecutorCount = resultingExecutors.size();
+			this.forceNative = matches(normalExecutors, ExecutorType.NATIVE)
+					|| matches(resultingExecutors, ExecutorType.NATIVE);
+			List<? extends IExecutorTyped> executors = resultingExecutors.isEmpty() ? normalExecutors : resultingExecutors;
+			this.executors = List.copyOf(executors);
+		}
+
+		@Override
+		protected Optional<IExecutorTyped> computeValue(Class<?> senderClass) {
+			if (forceNative) {
+				return find(ExecutorType.NATIVE);
+			} else if (Player.class.isAssignableFrom(senderClass) && matches(executors, ExecutorType.PLAYER)) {
+				return find(ExecutorType.PLAYER);
+			} else if (Entity.class.isAssignableFrom(senderClass) && matches(executors, ExecutorType.ENTITY)) {
+				return find(ExecutorType.ENTITY);
+			} else if (ConsoleCommandSender.class.isAssignableFrom(senderClass) && matches(executors, ExecutorType.CONSOLE)) {
+				return find(ExecutorType.CONSOLE);
+			} else if (BlockCommandSender.class.isAssignableFrom(senderClass) && matches(executors, ExecutorType.BLOCK)) {
+				return find(ExecutorType.BLOCK);
+			} else if (ProxiedCommandSender.class.isAssignableFrom(senderClass) && matches(executors, ExecutorType.PROXY)) {
+				return find(ExecutorType.PROXY);
+			} else {
+				return find(ExecutorType.ALL);
+			}
+		}
+
+		private Optional<IExecutorTyped> find(ExecutorType type) {
+			for (IExecutorTyped executor : executors) {
+				if (executor.getType() == type) {
+					return Optional.of(executor);
+				}
+			}
+			return Optional.empty();
+		}
+
+	}
+
+}
@@ -27,16 +27,33 @@ import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
@@ -46,6 +63,8 @@ import org.bukkit.command.PluginCommand;
 import org.bukkit.entity.Player;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.permissions.Permission;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.Nullable;
 
 import com.mojang.brigadier.Command;
@@ -65,11 +84,15 @@ import com.mojang.brigadier.tree.LiteralCommandNode;
 
 import dev.jorel.commandapi.arguments.Argument;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CustomArgument;
 import dev.jorel.commandapi.arguments.ICustomProvidedArgument;
+import dev.jorel.commandapi.arguments.IGreedyArgument;
 import dev.jorel.commandapi.arguments.IPreviewable;
 import dev.jorel.commandapi.arguments.LiteralArgument;
 import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.PreviewInfo;
+import dev.jorel.commandapi.exceptions.GreedyArgumentException;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.nms.NMS;
 import dev.jorel.commandapi.preprocessor.RequireField;
 import dev.jorel.commandapi.wrappers.PreviewableFunction;
@@ -92,6 +115,9 @@ public class CommandAPIHandler<CommandSourceStack> {
 	private final static VarHandle COMMANDNODE_ARGUMENTS;
 	private final static VarHandle COMMANDCONTEXT_ARGUMENTS;
 
+	// Given to arguments which don't read the arguments parsed before them
+	private final static Object[] NO_PREVIOUS_ARGS = new Object[0];
+
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
@@ -163,6 +189,9 @@ public class CommandAPIHandler<CommandSourceStack> {
 			for(Player player : Bukkit.getOnlinePlayers()) {
 				instance.NMS.unhookChatPreview(player);
 			}
+			if(instance.asyncExecutor != null) {
+				instance.asyncExecutor.shutdown();
+			}
 		}
 		
 		instance = null;
@@ -173,7 +202,19 @@ public class CommandAPIHandler<CommandSourceStack> {
 	final NMS<CommandSourceStack> NMS;
 	final CommandDispatcher<CommandSourceStack> DISPATCHER;
 	final List<RegisteredCommand> registeredCommands; // Keep track of what has been registered for type checking
+	private final Map<String, RegisteredNode> registeredNodes; // Registered argument paths for each command, for conflict checking
+	private final Set<CommandNode<CommandSourceStack>> sharedNodes; // Nodes with more than one parent, which are copied before anything is merged into them
+	private final Map<String, Boolean> aliasRedirects; // Whether the aliases of each command redirect to it, decided by its first registration
 	final Map<List<String>, IPreviewable<? extends Argument<?>, ?>> previewableArguments; // Arguments with previewable chat
+	private final List<DeferredRegistration<CommandSourceStack>> pendingRegistrations; // Registrations deferred by an open RegistrationBatch
+	private int batchDepth;
+	private RegistrationProfiler profiler; // Only present if registration profiling is enabled
+	private ExecutorService asyncExecutor; // The default executor for async commands, created when first needed
+	private final PermissionCache permissionCache = new PermissionCache();
+	private final PreviousArgumentsCache previousArgumentsCache = new PreviousArgumentsCache();
+	private final SuggestionRequests suggestionRequests = new SuggestionRequests();
+	private final Set<Player> playersToUpdate = ConcurrentHashMap.newKeySet(); // Players to resend commands to on the next tick
+	private final AtomicBoolean playerUpdateScheduled = new AtomicBoolean();
 	private PaperImplementations paper;
 
 	@SuppressWarnings("unchecked")
@@ -187,7 +228,12 @@ public class CommandAPIHandler<CommandSourceStack> {
 		}
 		DISPATCHER = NMS.getBrigadierDispatcher();
 		registeredCommands = new ArrayList<>();
+		registeredNodes = new HashMap<>();
+		sharedNodes = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		aliasRedirects = new HashMap<>();
 		previewableArguments = new HashMap<>();
+		pendingRegistrations = new ArrayList<>();
+		batchDepth = 0;
 		this.paper = new PaperImplementations(false, NMS);
 	}
 
@@ -283,27 +329,71 @@ public class CommandAPIHandler<CommandSourceStack> {
 	 *                    have been registered by Minecraft, Bukkit or Spigot etc.
 	 */
 	void unregister(String commandName, boolean force) {
-		if (CommandAPI.getConfiguration().hasVerboseOutput()) {
-			CommandAPI.logInfo("Unregistering command /" + commandName);
-		}
+		unregisterAll(List.of(commandName), force);
+	}
 
+	/**
+	 * Unregisters a number of commands from the NMS command graph. When forced,
+	 * the namespaced instances of the commands are looked up in an index of the
+	 * root nodes, which is built once per call instead of once per command.
+	 * 
+	 * @param commandNames the names of the commands to unregister
+	 * @param force        whether the unregistration system should attempt to
+	 *                     remove all instances of the commands, regardless of
+	 *                     whether they have been registered by Minecraft, Bukkit
+	 *                     or Spigot etc.
+	 */
+	void unregisterAll(Collection<String> commandNames, boolean force) {
 		// Get the child nodes from the loaded dispatcher class
 		Map<String, CommandNode<?>> commandNodeChildren = (Map<String, CommandNode<?>>) COMMANDNODE_CHILDREN
 				.get(DISPATCHER.getRoot());
+		Map<String, CommandNode<?>> commandNodeLiterals = (Map<String, CommandNode<?>>) COMMANDNODE_LITERALS
+				.get(DISPATCHER.getRoot());
+		Map<String, CommandNode<?>> commandNodeArguments = (Map<String, CommandNode<?>>) COMMANDNODE_ARGUMENTS
+				.get(DISPATCHER.getRoot());
+
+		// Minecraft, Bukkit and other plugins add and remove root nodes without
+		// going through the CommandAPI, so the index can't be kept between calls
+		Map<String, List<String>> namespacedKeys = force ? indexNamespacedKeys(commandNodeChildren.keySet()) : Map.of();
+
+		for (String commandName : commandNames) {
+			if (CommandAPI.getConfiguration().hasVerboseOutput()) {
+				CommandAPI.logInfo("Unregistering command /" + commandName);
+			}
 
-		if (force) {
-			// Remove them by force
-			for (String key : new HashSet<>(commandNodeChildren.keySet())) {
-				if (key.contains(":") && key.split(":")[1].equalsIgnoreCase(commandName)) {
-					commandNodeChildren.remove(key);
+			if (force) {
+				// Remove them by force
+				List<String> keys = namespacedKeys.remove(commandName.toLowerCase(Locale.ROOT));
+				if (keys != null) {
+					for (String key : keys) {
+						commandNodeChildren.remove(key);
+						commandNodeLiterals.remove(key);
+					}
 				}
 			}
+
+			// Otherwise, just remove them normally
+			commandNodeChildren.remove(commandName);
+			commandNodeLiterals.remove(commandName);
+			commandNodeArguments.remove(commandName);
+		}
+	}
+
+	// Indexes the namespaced root keys (e.g. minecraft:give) by their lowercase
+	// bare name
+	private static Map<String, List<String>> indexNamespacedKeys(Collection<String> rootKeys) {
+		Map<String, List<String>> namespacedKeys = new HashMap<>();
+		for (String key : rootKeys) {
+			if (key.contains(":")) {
+				namespacedKeys.computeIfAbsent(bareName(key), name -> new ArrayList<>()).add(key);
+			}
 		}
+		return namespacedKeys;
+	}
 
-		// Otherwise, just remove them normally
-		commandNodeChildren.remove(commandName);
-		((Map<String, CommandNode<?>>) COMMANDNODE_LITERALS.get(DISPATCHER.getRoot())).remove(commandName);
-		((Map<String, CommandNode<?>>) COMMANDNODE_ARGUMENTS.get(DISPATCHER.getRoot())).remove(commandName);
+	// Returns the lowercase name of a namespaced key, e.g. give for minecraft:give
+	private static String bareName(String namespacedKey) {
+		return namespacedKey.substring(namespacedKey.indexOf(':') + 1).toLowerCase(Locale.ROOT);
 	}
 
 	/**
@@ -319,12 +409,15 @@ public class CommandAPIHandler<CommandSourceStack> {
 	Command<CommandSourceStack> generateCommand(Argument<?>[] args,
 												CommandAPIExecutor<? extends CommandSender> executor, boolean converted) throws CommandSyntaxException {
 
+		// Work out which arguments are passed to the executor once, instead of
+		// every time the command is executed
+		ArgumentPlan plan = ArgumentPlan.of(args);
+
 		// Generate our command from executor
 		return (cmdCtx) -> {
 			CommandSender sender = NMS.getSenderForCommand(cmdCtx, executor.isForceNative());
 			if (converted) {
-				Object[] argObjs = argsToObjectArr(cmdCtx, args);
-				int resultValue = 0;
+				Object[] argObjs = argsToObjectArr(cmdCtx, plan);
 
 				// Return a String[] of arguments for converted commands
 				String[] argsAndCmd = cmdCtx.getRange().get(cmdCtx.getInput()).split(" ");
@@ -338,26 +431,126 @@ public class CommandAPIHandler<CommandSourceStack> {
 				for (int i = 0; i < args.length; i++) {
 					entityNamesForArgs[i] = args[i].getEntityNames(argObjs[i]);
 				}
-				List<List<String>> product = CartesianProduct.getDescartes(Arrays.asList(entityNamesForArgs));
-
-				// These objects in obj are List<String>
-				for (List<String> strings : product) {
-					// We assume result.length == strings.size
-					if (result.length == strings.size()) {
-						for (int i = 0; i < result.length; i++) {
-							if (strings.get(i) != null) {
-								result[i] = strings.get(i);
-							}
-						}
+
+				// Run the command once for every combination of entity names
+				return executeConverted(sender, executor, argsAndCmd[0], new CartesianProduct(result, entityNamesForArgs));
+			} else {
+				return executor.execute(sender, argsToObjectArr(cmdCtx, plan));
+			}
+		};
+	}
+
+	/*
+	 * Runs a converted command once for every combination of entity names. The
+	 * combinations are generated one at a time, so they're never all in memory at
+	 * once. Runs past the configured limit are skipped, and if a number of runs per
+	 * tick is configured, the remaining runs are spread over the following ticks.
+	 */
+	private int executeConverted(CommandSender sender, CommandAPIExecutor<? extends CommandSender> executor,
+			String commandName, Iterator<String[]> expansions) throws CommandSyntaxException {
+		int limit = CommandAPI.getConfiguration().getConvertedExpansionLimit();
+		int runsPerTick = CommandAPI.getConfiguration().getConvertedExpansionsPerTick();
+
+		int resultValue = 0;
+		int runs = 0;
+		while (expansions.hasNext()) {
+			if (limit > 0 && runs == limit) {
+				CommandAPI.logWarning("Stopped running converted command /" + commandName + " after " + limit
+						+ " runs. Increase converted-expansion-limit to allow more");
+				break;
+			}
+			if (runsPerTick > 0 && runs == runsPerTick && CommandAPI.getPlugin() != null) {
+				scheduleConverted(sender, executor, commandName, expansions, runs, limit, runsPerTick);
+				break;
+			}
+			resultValue += executor.execute(sender, expansions.next());
+			runs++;
+		}
+		return resultValue;
+	}
+
+	// Runs the remaining combinations of a converted command over the following
+	// ticks, a number of runs per tick
+	private void scheduleConverted(CommandSender sender, CommandAPIExecutor<? extends CommandSender> executor,
+			String commandName, Iterator<String[]> expansions, int previousRuns, int limit, int runsPerTick) {
+		new BukkitRunnable() {
+			int runs = previousRuns;
+
+			@Override
+			public void run() {
+				for (int i = 0; i < runsPerTick && expansions.hasNext(); i++) {
+					if (limit > 0 && runs == limit) {
+						CommandAPI.logWarning("Stopped running converted command /" + commandName + " after " + limit
+								+ " runs. Increase converted-expansion-limit to allow more");
+						break;
+					}
+					try {
+						executor.execute(sender, expansions.next());
+					} catch (CommandSyntaxException e) {
+						sender.sendMessage(ChatColor.RED + e.getMessage());
 					}
-					resultValue += executor.execute(sender, result);
+					runs++;
+				}
+				if (!expansions.hasNext() || (limit > 0 && runs == limit)) {
+					cancel();
 				}
+			}
+		}.runTaskTimer(CommandAPI.getPlugin(), 1L, 1L);
+	}
 
-				return resultValue;
+	/**
+	 * Runs an asynchronous command executor off the server thread. The command
+	 * itself has already succeeded by the time this runs, so if the executor fails
+	 * with a {@link WrapperCommandSyntaxException}, the error is sent to the
+	 * command sender instead.
+	 * 
+	 * @param sender   the command sender
+	 * @param executor the asynchronous command executor to run
+	 */
+	void executeAsync(CommandSender sender, Callable<CompletableFuture<Integer>> executor) {
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return executor.call();
+			} catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, getAsyncExecutor()).thenCompose(Function.identity()).whenComplete((result, throwable) -> {
+			if (throwable == null) {
+				return;
+			}
+			Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+					? throwable.getCause() : throwable;
+			if (cause instanceof WrapperCommandSyntaxException exception) {
+				CommandAPI.runSync(() -> {
+					sender.sendMessage(ChatColor.RED + exception.getMessage());
+					return null;
+				});
 			} else {
-				return executor.execute(sender, argsToObjectArr(cmdCtx, args));
+				cause.printStackTrace(System.out);
 			}
-		};
+		});
+	}
+
+	// Returns the executor that asynchronous commands run on. Unless one is set in
+	// the config, this uses virtual threads if the JVM supports them (Java 21+),
+	// otherwise a pool of daemon threads
+	private synchronized Executor getAsyncExecutor() {
+		Executor configured = CommandAPI.getConfiguration().getAsyncExecutor();
+		if (configured != null) {
+			return configured;
+		}
+		if (asyncExecutor == null) {
+			try {
+				asyncExecutor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				asyncExecutor = Executors.newCachedThreadPool(runnable -> {
+					Thread thread = new Thread(runnable, "CommandAPI Async");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+		}
+		return asyncExecutor;
 	}
 
 	/**
@@ -370,17 +563,63 @@ public class CommandAPIHandler<CommandSourceStack> {
 	 */
 	Object[] argsToObjectArr(CommandContext<CommandSourceStack> cmdCtx, Argument<?>[] args)
 			throws CommandSyntaxException {
-		// Array for arguments for executor
-		List<Object> argList = new ArrayList<>();
+		return argsToObjectArr(cmdCtx, ArgumentPlan.of(args));
+	}
 
-		// Populate array
-		for (Argument<?> argument : args) {
-			if (argument.isListed()) {
-				argList.add(parseArgument(cmdCtx, argument.getNodeName(), argument, argList.toArray()));
+	// Fills the array for the executor using a precomputed plan of which
+	// arguments are listed
+	private Object[] argsToObjectArr(CommandContext<CommandSourceStack> cmdCtx, ArgumentPlan plan)
+			throws CommandSyntaxException {
+		Argument<?>[] arguments = plan.arguments();
+		Object[] result = new Object[arguments.length];
+		for (int i = 0; i < arguments.length; i++) {
+			if (arguments[i] instanceof MultiLiteralArgument) {
+				result[i] = getMultiLiteral(cmdCtx, plan.indexes()[i]);
+			} else {
+				// Only arguments which read the previous arguments get a copy of them.
+				// previousArgs is an Object[] in the API, so this can't be a view of result
+				Object[] previousArgs = plan.readsPreviousArgs()[i] ? Arrays.copyOf(result, i) : NO_PREVIOUS_ARGS;
+				Argument<?> argument = arguments[i];
+				if (argument.isLazy()) {
+					// Lazy arguments are only parsed if the executor asks for them
+					result[i] = new LazyArgument<Object>(() -> argument.parseArgument(NMS, cmdCtx, argument.getNodeName(),
+							resolveLazyArguments(previousArgs)));
+				} else {
+					result[i] = argument.parseArgument(NMS, cmdCtx, argument.getNodeName(), resolveLazyArguments(previousArgs));
+				}
 			}
 		}
+		return result;
+	}
 
-		return argList.toArray();
+	// Arguments which read the previous arguments are given their parsed values,
+	// so lazy previous arguments are parsed now. The executor still gets the
+	// LazyArgument, which doesn't parse them again
+	private static Object[] resolveLazyArguments(Object[] previousArgs) throws CommandSyntaxException {
+		for (int i = 0; i < previousArgs.length; i++) {
+			if (previousArgs[i] instanceof LazyArgument<?> lazyArgument) {
+				previousArgs[i] = lazyArgument.resolve();
+			}
+		}
+		return previousArgs;
+	}
+
+	/**
+	 * Returns the literal that was used for a MultiLiteralArgument. Since the
+	 * literals of a MultiLiteralArgument are sibling nodes, this is the name of the
+	 * node that was parsed at the position of the MultiLiteralArgument.
+	 * 
+	 * @param cmdCtx the command context
+	 * @param index  the index of the MultiLiteralArgument in the command's
+	 *               arguments
+	 * @return the literal that was used for the MultiLiteralArgument
+	 */
+	String getMultiLiteral(CommandContext<CommandSourceStack> cmdCtx, int index) {
+		// The parsed nodes start with the command name, unless this context was
+		// redirected straight to the command name's node, in which case the
+		// parsed nodes start with the first argument
+		int offset = cmdCtx.getRootNode() == DISPATCHER.getRoot() ? 1 : 0;
+		return cmdCtx.getNodes().get(offset + index).getNode().getName();
 	}
 
 	/**
@@ -475,7 +714,12 @@ public class CommandAPIHandler<CommandSourceStack> {
 			} else {
 				// A permission has been set
 				if(permission.getPermission().isPresent()) {
-					satisfiesPermissions = sender.hasPermission(permission.getPermission().get());
+					String permissionNode = permission.getPermission().get();
+					if (sender instanceof Player player) {
+						satisfiesPermissions = hasPermission(player, permissionNode);
+					} else {
+						satisfiesPermissions = sender.hasPermission(permissionNode);
+					}
 				} else {
 					// TODO: This should assert, we should be defaulting to CommandPermission.NONE, but for some reason we're not.
 					satisfiesPermissions = true;
@@ -488,6 +732,85 @@ public class CommandAPIHandler<CommandSourceStack> {
 		return satisfiesPermissions && requirements.test(sender);
 	}
 
+	// Checks if a player has a permission, using the permission cache if it's enabled
+	private boolean hasPermission(Player player, String permission) {
+		if (CommandAPI.getConfiguration().shouldCachePermissions()) {
+			return permissionCache.hasPermission(player, permission,
+					CommandAPI.getConfiguration().getPermissionCacheTime());
+		} else {
+			return player.hasPermission(permission);
+		}
+	}
+
+	/**
+	 * Updates the requirements of players. The commands packet is sent to each
+	 * player immediately, unless requirement updates are coalesced. In that case,
+	 * each player is sent the commands packet at most once on the next tick,
+	 * however many times they are marked in this tick. If the CommandAPI isn't
+	 * enabled, there is no scheduler to wait for, so the packets are sent
+	 * immediately
+	 * 
+	 * @param players the players whose requirements to update
+	 */
+	void updateRequirements(Collection<? extends Player> players) {
+		for (Player player : players) {
+			permissionCache.invalidate(player);
+		}
+
+		Plugin plugin = CommandAPI.getPlugin();
+		if (!CommandAPI.getConfiguration().shouldCoalesceRequirementUpdates() || plugin == null
+				|| !plugin.isEnabled()) {
+			for (Player player : players) {
+				NMS.resendPackets(player);
+			}
+			return;
+		}
+
+		playersToUpdate.addAll(players);
+		if (playerUpdateScheduled.compareAndSet(false, true)) {
+			Bukkit.getScheduler().runTask(plugin, this::sendPlayerUpdates);
+		}
+	}
+
+	private void sendPlayerUpdates() {
+		// Reset first, so players marked while sending get another task
+		playerUpdateScheduled.set(false);
+		Iterator<Player> iterator = playersToUpdate.iterator();
+		while (iterator.hasNext()) {
+			Player player = iterator.next();
+			iterator.remove();
+			if (player.isOnline()) {
+				NMS.resendPackets(player);
+			}
+		}
+	}
+
+	/**
+	 * Cancels a player's unfinished suggestions and forgets their last
+	 * suggestion request
+	 * 
+	 * @param player the player who has left
+	 */
+	void forgetSuggestionRequests(Player player) {
+		suggestionRequests.forget(player);
+	}
+
+	/**
+	 * Forgets the cached permissions of a player, if permissions are cached
+	 * 
+	 * @param player the player whose permissions may have changed
+	 */
+	void invalidatePermissions(Player player) {
+		permissionCache.invalidate(player);
+	}
+
+	/**
+	 * Forgets the cached permissions of every player, if permissions are cached
+	 */
+	void invalidateAllPermissions() {
+		permissionCache.invalidateAll();
+	}
+
 	/*
 	 * Makes permission checks more "Bukkit" like and less "Vanilla Minecraft" like
 	 */
@@ -541,35 +864,44 @@ public class CommandAPIHandler<CommandSourceStack> {
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	/*
-	 * Expands multiliteral arguments and registers all expansions of
-	 * MultiLiteralArguments throughout the provided command. Returns true if
-	 * multiliteral arguments were present (and expanded) and returns false if
-	 * multiliteral arguments were not present.
+	 * Expands MultiLiteralArguments into every combination of LiteralArguments
+	 * that they represent. These expansions are used to keep track of every
+	 * registered path of a command (for conflict checking and help). If there
+	 * are no MultiLiteralArguments, this just contains the provided arguments.
 	 */
-	private boolean expandMultiLiterals(CommandMetaData meta, final Argument<?>[] args,
-			CommandAPIExecutor<? extends CommandSender> executor, boolean converted)
-			throws CommandSyntaxException, IOException {
+	private List<Argument<?>[]> expandMultiLiterals(final Argument<?>[] args) {
+		List<Argument<?>[]> expansions = new ArrayList<>();
+		expansions.add(args);
 
-		// "Expands" our MultiLiterals into Literals
 		for (int index = 0; index < args.length; index++) {
-			// Find the first multiLiteral in the for loop
 			if (args[index] instanceof MultiLiteralArgument superArg) {
-
-				// Add all of its entries
-				for (int i = 0; i < superArg.getLiterals().length; i++) {
-					LiteralArgument litArg = (LiteralArgument) new LiteralArgument(superArg.getLiterals()[i])
-							.setListed(superArg.isListed()).withPermission(superArg.getArgumentPermission())
-							.withRequirement(superArg.getRequirements());
-
-					// Reconstruct the list of arguments and place in the new literals
-					Argument<?>[] newArgs = Arrays.copyOf(args, args.length);
-					newArgs[index] = litArg;
-					register(meta, newArgs, executor, converted);
+				List<Argument<?>[]> newExpansions = new ArrayList<>();
+				for (Argument<?>[] expansion : expansions) {
+					// Add all of its entries
+					for (String literal : superArg.getLiterals()) {
+						LiteralArgument litArg = (LiteralArgument) new LiteralArgument(literal)
+								.setListed(superArg.isListed()).withPermission(superArg.getArgumentPermission())
+								.withRequirement(superArg.getRequirements());
+
+						// Reconstruct the list of arguments and place in the new literals
+						Argument<?>[] newArgs = Arrays.copyOf(expansion, expansion.length);
+						newArgs[index] = litArg;
+						newExpansions.add(newArgs);
+					}
 				}
-				return true;
+				expansions = newExpansions;
 			}
 		}
-		return false;
+		return expansions;
+	}
+
+	// Create the human-readable command syntax of arguments
+	private static String generateHumanReadableSyntax(Argument<?>[] args) {
+		StringBuilder builder = new StringBuilder();
+		for (Argument<?> arg : args) {
+			builder.append(arg.toString()).append(" ");
+		}
+		return builder.toString().trim();
 	}
 
 	// Prevent nodes of the same name but with different types:
@@ -577,106 +909,142 @@ public class CommandAPIHandler<CommandSourceStack> {
 	// disallow /race invite<LiteralArgument> player<EntitySelectorArgument>
 	// Return true if conflict was present, otherwise return false
 	private boolean hasCommandConflict(String commandName, Argument<?>[] args, String argumentsAsString) {
-		List<String[]> regArgs = new ArrayList<>();
-		for (RegisteredCommand rCommand : registeredCommands) {
-			if (rCommand.commandName().equals(commandName)) {
-				for (String str : rCommand.argsAsStr()) {
-					regArgs.add(str.split(":"));
-				}
-				// We just find the first entry that causes a conflict. If this
-				// were some industry-level code, we would probably generate a
-				// list of all commands first, then check for command conflicts
-				// all in one go so we can display EVERY command conflict for
-				// all commands, but this works perfectly and isn't important.
-				break;
-			}
-		}
-		for (int i = 0; i < args.length; i++) {
-			// Avoid IAOOBEs
-			if (regArgs.size() == i && regArgs.size() < args.length) {
-				break;
-			}
-			// We want to ensure all node names are the same
-			if (!regArgs.get(i)[0].equals(args[i].getNodeName())) {
-				break;
-			}
+		// Walk down the previously registered paths for this command. This only
+		// costs as much as the length of the path that we're registering
+		RegisteredNode node = registeredNodes.get(commandName);
+		for (int i = 0; node != null && i < args.length; i++) {
+			node = node.children.get(args[i].getNodeName());
+
 			// This only applies to the last argument
-			if (i == args.length - 1) {
-				if (!regArgs.get(i)[1].equals(args[i].getClass().getSimpleName())) {
-					// Command it conflicts with
-					StringBuilder builder2 = new StringBuilder();
-					for (String[] arg : regArgs) {
-						builder2.append(arg[0]).append("<").append(arg[1]).append("> ");
-					}
+			if (node != null && i == args.length - 1 && !node.argumentType.equals(args[i].getClass().getSimpleName())) {
+				// Command it conflicts with
+				StringBuilder builder2 = new StringBuilder();
+				for (String arg : node.owner.argsAsStr()) {
+					String[] nodeNameAndType = arg.split(":");
+					builder2.append(nodeNameAndType[0]).append("<").append(nodeNameAndType[1]).append("> ");
+				}
 
-					CommandAPI.logError("""
-							Failed to register command:
+				CommandAPI.logError("""
+						Failed to register command:
 
-							  %s %s
+						  %s %s
 
-							Because it conflicts with this previously registered command:
+						Because it conflicts with this previously registered command:
 
-							  %s %s
-							""".formatted(commandName, argumentsAsString, commandName, builder2.toString()));
-					return true;
-				}
+						  %s %s
+						""".formatted(commandName, argumentsAsString, commandName, builder2.toString()));
+				return true;
 			}
 		}
 		return false;
 	}
 
-	// Links arg -> Executor
-	private ArgumentBuilder<CommandSourceStack, ?> generateInnerArgument(Command<CommandSourceStack> command,
-			Argument<?>[] args) {
-		Argument<?> innerArg = args[args.length - 1];
+	// Adds the path of a registered command to registeredNodes, so future
+	// registrations of this command can be checked for conflicts
+	private void addRegisteredNodes(RegisteredCommand registeredCommand, Argument<?>[] args) {
+		RegisteredNode node = registeredNodes.computeIfAbsent(registeredCommand.commandName(),
+				name -> new RegisteredNode(null, registeredCommand));
+		for (Argument<?> arg : args) {
+			node = node.children.computeIfAbsent(arg.getNodeName(),
+					name -> new RegisteredNode(arg.getClass().getSimpleName(), registeredCommand));
+		}
+	}
 
+	// Creates the builder for a single argument, which isn't linked to any
+	// other arguments yet
+	private ArgumentBuilder<CommandSourceStack, ?> generateArgumentBuilder(Argument<?> arg, Argument<?>[] args) {
 		// Handle Literal arguments
-		if (innerArg instanceof LiteralArgument literalArgument) {
-			return getLiteralArgumentBuilderArgument(literalArgument.getLiteral(), innerArg.getArgumentPermission(),
-					innerArg.getRequirements()).executes(command);
+		if (arg instanceof LiteralArgument literalArgument) {
+			return getLiteralArgumentBuilderArgument(literalArgument.getLiteral(), arg.getArgumentPermission(),
+					arg.getRequirements());
 		}
 
 		// Handle arguments with built-in suggestion providers
-		else if (innerArg instanceof ICustomProvidedArgument customProvidedArg
-				&& !innerArg.getOverriddenSuggestions().isPresent()) {
-			return getRequiredArgumentBuilderWithProvider(innerArg, args,
-					NMS.getSuggestionProvider(customProvidedArg.getSuggestionProvider())).executes(command);
+		else if (arg instanceof ICustomProvidedArgument customProvidedArg
+				&& !arg.getOverriddenSuggestions().isPresent()) {
+			return getRequiredArgumentBuilderWithProvider(arg, args,
+					NMS.getSuggestionProvider(customProvidedArg.getSuggestionProvider()));
 		}
 
 		// Handle every other type of argument
 		else {
-			return getRequiredArgumentBuilderDynamic(args, innerArg).executes(command);
+			return getRequiredArgumentBuilderDynamic(args, arg);
 		}
 	}
 
-	// Links arg1 -> arg2 -> ... argN -> innermostArgument
-	private ArgumentBuilder<CommandSourceStack, ?> generateOuterArguments(
-			ArgumentBuilder<CommandSourceStack, ?> innermostArgument, Argument<?>[] args) {
-		ArgumentBuilder<CommandSourceStack, ?> outer = innermostArgument;
-		for (int i = args.length - 2; i >= 0; i--) {
-			Argument<?> outerArg = args[i];
-
-			// Handle Literal arguments
-			if (outerArg instanceof LiteralArgument literalArgument) {
-				outer = getLiteralArgumentBuilderArgument(literalArgument.getLiteral(),
-						outerArg.getArgumentPermission(), outerArg.getRequirements()).then(outer);
+	/*
+	 * Creates the nodes for a single argument, linked to its executor (if it has
+	 * one) and its child nodes. A MultiLiteralArgument becomes one literal node
+	 * for each of its literals. These sibling nodes all share the same child
+	 * nodes, so the arguments after a MultiLiteralArgument are only built once, no
+	 * matter how many literals it has. Shared nodes are remembered, so they can be
+	 * copied before a later registration is merged into them (see
+	 * unshareMergedNodes).
+	 */
+	private List<CommandNode<CommandSourceStack>> generateNodes(Argument<?> arg, Argument<?>[] args,
+			@Nullable Command<CommandSourceStack> command, List<CommandNode<CommandSourceStack>> children) {
+		List<ArgumentBuilder<CommandSourceStack, ?>> builders = new ArrayList<>();
+		if (arg instanceof MultiLiteralArgument multiLiteralArgument) {
+			for (String literal : multiLiteralArgument.getLiterals()) {
+				builders.add(getLiteralArgumentBuilderArgument(literal,
+						multiLiteralArgument.getArgumentPermission(), multiLiteralArgument.getRequirements()));
 			}
+		} else {
+			builders.add(generateArgumentBuilder(arg, args));
+		}
 
-			// Handle arguments with built-in suggestion providers
-			else if (outerArg instanceof ICustomProvidedArgument customProvidedArg
-					&& !outerArg.getOverriddenSuggestions().isPresent()) {
-				outer = getRequiredArgumentBuilderWithProvider(outerArg, args,
-						NMS.getSuggestionProvider(customProvidedArg.getSuggestionProvider())).then(outer);
+		if (builders.size() > 1) {
+			sharedNodes.addAll(children);
+		}
+		List<CommandNode<CommandSourceStack>> nodes = new ArrayList<>(builders.size());
+		for (ArgumentBuilder<CommandSourceStack, ?> builder : builders) {
+			if (command != null) {
+				builder.executes(command);
+			}
+			for (CommandNode<CommandSourceStack> child : children) {
+				builder.then(child);
 			}
+			nodes.add(builder.build());
+		}
+		return nodes;
+	}
 
-			// Handle every other type of argument
-			else {
-				outer = getRequiredArgumentBuilderDynamic(args, outerArg).then(outer);
+	/*
+	 * Links arg1 -> arg2 -> ... argN -> executor and returns the nodes for arg1
+	 */
+	private List<CommandNode<CommandSourceStack>> generateArgumentNodes(Command<CommandSourceStack> command,
+			Argument<?>[] args) {
+		List<CommandNode<CommandSourceStack>> children = List.of();
+		for (int i = args.length - 1; i >= 0; i--) {
+			// The innermost argument is connected to the executor
+			children = generateNodes(args[i], args, i == args.length - 1 ? command : null, children);
+		}
+		return children;
+	}
+
+	/*
+	 * Links every live node of a CommandTree to its children and (if it is an
+	 * executable node) its executor, and returns the nodes for the given trees.
+	 * Each node of the tree is only built once, no matter how many executable
+	 * paths go through it.
+	 */
+	private List<CommandNode<CommandSourceStack>> generateTreeNodes(List<ArgumentTree> trees, Argument<?>[] previousArgs,
+			Set<ArgumentTree> executables, Set<ArgumentTree> live) throws CommandSyntaxException {
+		List<CommandNode<CommandSourceStack>> nodes = new ArrayList<>();
+		for (ArgumentTree tree : trees) {
+			if (!live.contains(tree)) {
+				continue;
 			}
+			Argument<?>[] args = Arrays.copyOf(previousArgs, previousArgs.length + 1);
+			args[previousArgs.length] = tree.argument;
+
+			List<CommandNode<CommandSourceStack>> children = generateTreeNodes(tree.arguments, args, executables, live);
+			Command<CommandSourceStack> command = executables.contains(tree) ? generateCommand(args, tree.executor, false) : null;
+			nodes.addAll(generateNodes(tree.argument, args, command, children));
 		}
-		return outer;
+		return nodes;
 	}
-	
+
 	/**
 	 * Handles previewable arguments. This stores the path to previewable arguments
 	 * in {@link CommandAPIHandler#previewableArguments} for runtime resolving
@@ -702,34 +1070,184 @@ public class CommandAPIHandler<CommandSourceStack> {
 		}
 	}
 
-	// Builds our NMS command using the given arguments for this method, then
-	// registers it
+	// Registers a command. If a RegistrationBatch is open, the command is
+	// deferred until the batch is committed
 	void register(CommandMetaData meta, final Argument<?>[] args,
 			CommandAPIExecutor<? extends CommandSender> executor, boolean converted)
 			throws CommandSyntaxException, IOException {
+		// Copy the metadata if we're in a batch, in case the command builder is
+		// modified and reused before the batch is committed
+		CommandMetaData registeredMeta = batchDepth > 0 ? new CommandMetaData(meta) : meta;
+		register(meta.commandName, profiled(meta.commandName, () -> prepareCommand(registeredMeta, args, executor, converted)));
+	}
 
-		// "Expands" our MultiLiterals into Literals
-		if (expandMultiLiterals(meta, args, executor, converted)) {
+	// Registers a CommandTree, building each node of the tree exactly once. If
+	// a RegistrationBatch is open, the tree is deferred until the batch is
+	// committed
+	void registerTree(CommandMetaData meta, CommandAPIExecutor<? extends CommandSender> executor,
+			List<ArgumentTree> arguments) throws CommandSyntaxException, IOException {
+		CommandMetaData registeredMeta = batchDepth > 0 ? new CommandMetaData(meta) : meta;
+		List<ArgumentTree> registeredArguments = List.copyOf(arguments);
+		register(meta.commandName, profiled(meta.commandName, () -> prepareTree(registeredMeta, executor, registeredArguments)));
+	}
+
+	private void register(String commandName, PendingRegistration<CommandSourceStack> registration)
+			throws CommandSyntaxException, IOException {
+		if (batchDepth > 0) {
+			pendingRegistrations.add(new DeferredRegistration<>(commandName, registration));
 			return;
 		}
 
-		// Create the human-readable command syntax of arguments
-		final String humanReadableCommandArgSyntax; {
-			StringBuilder builder = new StringBuilder();
-			for (Argument<?> arg : args) {
-				builder.append(arg.toString()).append(" ");
+		for (CommandCompiler<CommandSourceStack> compiler : registration.prepare()) {
+			graft(compiler.compile());
+		}
+
+		// We never know if this is "the last command" and we want dynamic (even if
+		// partial) command registration. Generate the dispatcher file!
+		generateDispatcherFile();
+	}
+
+	/**
+	 * Opens a registration batch. Until the matching call to
+	 * {@link CommandAPIHandler#commitBatch()}, registered commands are collected
+	 * instead of being added to the dispatcher. Batches can be nested, in which
+	 * case commands are only registered when the outermost batch is committed.
+	 */
+	void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Closes a registration batch. If this is the outermost batch, all deferred
+	 * commands are registered in one pass, followed by a single generation of the
+	 * dispatcher file. If the server has already loaded, permissions and help
+	 * topics are also updated once for the whole batch.
+	 */
+	void commitBatch() {
+		if (batchDepth == 0) {
+			CommandAPI.logWarning("Tried to commit a registration batch, but no batch was open!");
+			return;
+		}
+		if (--batchDepth > 0) {
+			return;
+		}
+
+		// A command which fails to register is reported, and the rest of the batch
+		// is still registered. The deferred commands are only forgotten once
+		// they've all been processed
+		try {
+			CommandAPI.logInfo("Committing registration batch of " + pendingRegistrations.size() + " commands");
+
+			// Checking commands and keeping track of their paths depends on every
+			// command registered before them, so this has to happen in order
+			List<String> commandNames = new ArrayList<>();
+			List<CommandCompiler<CommandSourceStack>> compilers = new ArrayList<>();
+			for (DeferredRegistration<CommandSourceStack> registration : List.copyOf(pendingRegistrations)) {
+				try {
+					for (CommandCompiler<CommandSourceStack> compiler : registration.registration().prepare()) {
+						commandNames.add(registration.commandName());
+						compilers.add(compiler);
+					}
+				} catch (RuntimeException e) {
+					logBatchFailure(registration.commandName(), e);
+				}
+			}
+
+			// Building the nodes of each command doesn't touch the dispatcher, so
+			// this can happen on worker threads. The nodes are then added to the
+			// dispatcher in one go
+			for (CompiledCommand<CommandSourceStack> compiled : compileAll(commandNames, compilers)) {
+				try {
+					graft(compiled);
+				} catch (RuntimeException e) {
+					logBatchFailure(compiled.meta().commandName, e);
+				}
 			}
-			humanReadableCommandArgSyntax = builder.toString().trim();
+		} finally {
+			pendingRegistrations.clear();
 		}
-		
+
+		try {
+			generateDispatcherFile();
+		} catch (IOException e) {
+			CommandAPI.getLogger().log(Level.SEVERE, "Failed to generate the dispatcher file", e);
+		}
+
+		// Permissions and help topics are normally set up once the server has
+		// loaded. If we're past that point, we have to do it ourselves
+		if (!CommandAPI.canRegister()) {
+			fixPermissions();
+			updateHelpForCommands();
+		}
+	}
+
+	/*
+	 * Builds the nodes of every prepared command, keeping their order. If compile
+	 * threads are configured, the commands are built on a temporary pool of
+	 * worker threads while the calling thread waits for them. Commands which fail
+	 * to build are reported and left out.
+	 */
+	private List<CompiledCommand<CommandSourceStack>> compileAll(List<String> commandNames,
+			List<CommandCompiler<CommandSourceStack>> compilers) {
+		List<CompiledCommand<CommandSourceStack>> compiledCommands = new ArrayList<>(compilers.size());
+		int threads = Math.min(CommandAPI.getConfiguration().getCompileThreads(), compilers.size());
+		if (threads <= 1) {
+			for (int i = 0; i < compilers.size(); i++) {
+				try {
+					compiledCommands.add(compilers.get(i).compile());
+				} catch (CommandSyntaxException | RuntimeException e) {
+					logBatchFailure(commandNames.get(i), e);
+				}
+			}
+			return compiledCommands;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "CommandAPI Compiler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<CompiledCommand<CommandSourceStack>>> futures = new ArrayList<>(compilers.size());
+			for (CommandCompiler<CommandSourceStack> compiler : compilers) {
+				Callable<CompiledCommand<CommandSourceStack>> task = compiler::compile;
+				futures.add(pool.submit(task));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					compiledCommands.add(futures.get(i).get());
+				} catch (ExecutionException e) {
+					logBatchFailure(commandNames.get(i), e.getCause());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while building command nodes", e);
+		} finally {
+			pool.shutdownNow();
+		}
+		return compiledCommands;
+	}
+
+	private static void logBatchFailure(String commandName, Throwable throwable) {
+		CommandAPI.getLogger().log(Level.SEVERE, "Failed to register /" + commandName + " from a registration batch", throwable);
+	}
+
+	/*
+	 * Checks a path of arguments of a command and keeps track of every path that
+	 * it represents. Returns the expanded paths that were registered, which are
+	 * empty if the path can't be registered. If allowPartial is false, the path is
+	 * only registered if none of its expansions conflict with a previously
+	 * registered command.
+	 */
+	private PreparedPath preparePath(CommandMetaData meta, final Argument<?>[] args, boolean allowPartial) {
+
 		// #312 Safeguard against duplicate node names. This only applies to
 		// required arguments (i.e. not literal arguments)
 		{
 			Set<String> argumentNames = new HashSet<>();
 			for(Argument<?> arg : args) {
-				// We shouldn't find MultiLiteralArguments at this point, only
-				// LiteralArguments
-				if(!(arg instanceof LiteralArgument)) {
+				if(!(arg instanceof LiteralArgument) && !(arg instanceof MultiLiteralArgument)) {
 					if(argumentNames.contains(arg.getNodeName())) {
 						CommandAPI.logError("""
 							Failed to register command:
@@ -739,8 +1257,8 @@ public class CommandAPIHandler<CommandSourceStack> {
 							Because the following argument shares the same node name as another argument:
 
 							  %s
-							""".formatted(meta.commandName, humanReadableCommandArgSyntax, arg.toString()));
-						return;
+							""".formatted(meta.commandName, generateHumanReadableSyntax(args), arg.toString()));
+						return PreparedPath.NONE;
 					} else {
 						argumentNames.add(arg.getNodeName());
 					}
@@ -752,39 +1270,220 @@ public class CommandAPIHandler<CommandSourceStack> {
 		String commandName = meta.commandName;
 		CommandPermission permission = meta.permission;
 		String[] aliases = meta.aliases;
-		Predicate<CommandSender> requirements = meta.requirements;
 		Optional<String> shortDescription = meta.shortDescription;
 		Optional<String> fullDescription = meta.fullDescription;
 
-		// Handle command conflicts
-		boolean hasRegisteredCommand = false;
-		for (int i = 0, size = registeredCommands.size(); i < size && !hasRegisteredCommand; i++) {
-			hasRegisteredCommand |= registeredCommands.get(i).commandName().equals(commandName);
+		// "Expands" our MultiLiterals into Literals, so we can keep track of
+		// every path that this command represents. Expansions of the same path
+		// can never conflict with each other, so they can all be checked up front
+		List<Argument<?>[]> expansions = expandMultiLiterals(args);
+		List<Argument<?>[]> registeredExpansions = new ArrayList<>();
+		for (Argument<?>[] expansion : expansions) {
+			// Handle command conflicts
+			if (!hasCommandConflict(commandName, expansion, generateHumanReadableSyntax(expansion))) {
+				registeredExpansions.add(expansion);
+			}
 		}
-		if (hasRegisteredCommand && hasCommandConflict(commandName, args, humanReadableCommandArgSyntax)) {
-			return;
-		} else {
+		boolean complete = registeredExpansions.size() == expansions.size();
+		if (!allowPartial && !complete) {
+			return PreparedPath.NONE;
+		}
+		if (profiler != null && !registeredExpansions.isEmpty()) {
+			profiler.recordDefinition(commandName, registeredExpansions.size());
+		}
+
+		for (Argument<?>[] expansion : registeredExpansions) {
 			List<String> argumentsString = new ArrayList<>();
-			for (Argument<?> arg : args) {
+			for (Argument<?> arg : expansion) {
 				argumentsString.add(arg.getNodeName() + ":" + arg.getClass().getSimpleName());
 			}
-			registeredCommands.add(new RegisteredCommand(commandName, argumentsString, shortDescription, fullDescription, aliases, permission));
+			RegisteredCommand registeredCommand = new RegisteredCommand(commandName, argumentsString, shortDescription, fullDescription, aliases, permission);
+			registeredCommands.add(registeredCommand);
+			addRegisteredNodes(registeredCommand, expansion);
+
+			// Handle previewable arguments
+			handlePreviewableArguments(commandName, expansion, aliases);
+
+			if (!complete) {
+				CommandAPI.logInfo("Registering command /" + commandName + " " + generateHumanReadableSyntax(expansion));
+			}
 		}
-		
-		// Handle previewable arguments
-		handlePreviewableArguments(commandName, args, aliases);
+		if (complete) {
+			CommandAPI.logInfo("Registering command /" + commandName + " " + generateHumanReadableSyntax(args));
+		}
+		return new PreparedPath(registeredExpansions, complete);
+	}
 
-		// Warn if the command we're registering already exists in this plugin's
-		// plugin.yml file
-		{
-			final PluginCommand pluginCommand = Bukkit.getPluginCommand(commandName);
-			if (pluginCommand != null) {
-				CommandAPI.logWarning("Plugin command /%s is registered by Bukkit (%s). Did you forget to remove this from your plugin.yml file?".formatted(commandName,
-					pluginCommand.getPlugin().getName()));
+	// Warn if the command we're registering already exists in this plugin's
+	// plugin.yml file
+	private void warnPluginCommand(String commandName) {
+		final PluginCommand pluginCommand = Bukkit.getPluginCommand(commandName);
+		if (pluginCommand != null) {
+			CommandAPI.logWarning("Plugin command /%s is registered by Bukkit (%s). Did you forget to remove this from your plugin.yml file?".formatted(commandName,
+				pluginCommand.getPlugin().getName()));
+		}
+	}
+
+	// Checks the given arguments for this method and keeps track of every path
+	// that it registers. Returns the compilers for the nodes to register
+	private List<CommandCompiler<CommandSourceStack>> prepareCommand(CommandMetaData meta, final Argument<?>[] args,
+			CommandAPIExecutor<? extends CommandSender> executor, boolean converted) {
+		PreparedPath prepared = preparePath(meta, args, true);
+		if (prepared.registeredExpansions().isEmpty()) {
+			return List.of();
+		}
+		warnPluginCommand(meta.commandName);
+
+		// Converted commands read the command name from the input range of the
+		// context, and previewable arguments are looked up using the path of
+		// parsed nodes. Neither works through a redirect
+		boolean redirectAliases = chooseAliasRedirects(meta,
+				!converted && !(args.length > 0 && args[args.length - 1] instanceof IPreviewable));
+
+		if (prepared.complete()) {
+			return List.of(() -> compileCommand(meta, args, executor, converted, redirectAliases));
+		} else {
+			// Some paths conflict with previously registered commands, so the
+			// literals of our MultiLiterals can't share their nodes. Register
+			// each of the remaining paths on their own instead
+			List<CommandCompiler<CommandSourceStack>> compilers = new ArrayList<>();
+			for (Argument<?>[] expansion : prepared.registeredExpansions()) {
+				compilers.add(() -> compileCommand(meta, expansion, executor, converted, redirectAliases));
 			}
+			return compilers;
 		}
+	}
 
-		CommandAPI.logInfo("Registering command /" + commandName + " " + humanReadableCommandArgSyntax);
+	// Checks every executable path of a CommandTree and keeps track of every
+	// path that it registers. Returns the compiler for the tree's nodes
+	private List<CommandCompiler<CommandSourceStack>> prepareTree(CommandMetaData meta,
+			CommandAPIExecutor<? extends CommandSender> executor, List<ArgumentTree> arguments) {
+		// Nodes with an executor that was registered, and nodes that lead to one.
+		// Subtrees without any registered executors aren't built at all
+		Set<ArgumentTree> executables = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<ArgumentTree> live = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		// Check the whole tree before keeping track of any of its paths, so an
+		// invalid tree doesn't leave paths behind which were never registered
+		for (ArgumentTree tree : arguments) {
+			checkGreedyArguments(tree, new Argument<?>[0]);
+		}
+
+		boolean rootExecutable = executor.hasAnyExecutors() && !preparePath(meta, new Argument<?>[0], false).registeredExpansions().isEmpty();
+		for (ArgumentTree tree : arguments) {
+			prepareTreeNode(meta, tree, new Argument<?>[0], executables, live);
+		}
+		if (!rootExecutable && live.isEmpty()) {
+			return List.of();
+		}
+		warnPluginCommand(meta.commandName);
+
+		// Previewable arguments are looked up using the path of parsed nodes, so
+		// they can't be reached through a redirect
+		boolean canRedirect = true;
+		for (ArgumentTree tree : executables) {
+			if (tree.argument instanceof IPreviewable) {
+				canRedirect = false;
+			}
+		}
+		boolean redirectAliases = chooseAliasRedirects(meta, canRedirect);
+
+		return List.of(() -> compileTree(meta, rootExecutable ? executor : null, arguments, executables, live, redirectAliases));
+	}
+
+	// Checks the executable path ending at this node, then every node below it.
+	// Returns true if this subtree contains a registered executor
+	private boolean prepareTreeNode(CommandMetaData meta, ArgumentTree tree, Argument<?>[] previousArgs,
+			Set<ArgumentTree> executables, Set<ArgumentTree> live) {
+		// Assign the command's permissions to arguments if the arguments don't already
+		// have one
+		if (tree.argument.getArgumentPermission() == null) {
+			tree.argument.withPermission(meta.permission);
+		}
+
+		Argument<?>[] args = Arrays.copyOf(previousArgs, previousArgs.length + 1);
+		args[previousArgs.length] = tree.argument;
+
+		boolean isLive = false;
+		if (tree.executor.hasAnyExecutors()) {
+			if (!preparePath(meta, args, false).registeredExpansions().isEmpty()) {
+				executables.add(tree);
+				isLive = true;
+			}
+		}
+		for (ArgumentTree child : tree.arguments) {
+			isLive |= prepareTreeNode(meta, child, args, executables, live);
+		}
+		if (isLive) {
+			live.add(tree);
+		}
+		return isLive;
+	}
+
+	// Checks the IGreedyArgument constraints of every executable path of a
+	// CommandTree
+	private static void checkGreedyArguments(ArgumentTree tree, Argument<?>[] previousArgs) {
+		Argument<?>[] args = Arrays.copyOf(previousArgs, previousArgs.length + 1);
+		args[previousArgs.length] = tree.argument;
+
+		if (tree.executor.hasAnyExecutors()) {
+			for (int i = 0, numGreedyArgs = 0; i < args.length; i++) {
+				if (args[i] instanceof IGreedyArgument) {
+					if (++numGreedyArgs > 1 || i != args.length - 1) {
+						throw new GreedyArgumentException(args);
+					}
+				}
+			}
+		}
+		for (ArgumentTree child : tree.arguments) {
+			checkGreedyArguments(child, args);
+		}
+	}
+
+	/*
+	 * Decides whether the aliases of a command are thin literal nodes which
+	 * redirect to the command's node, instead of a copy of every argument. Every
+	 * registration of a command is merged into the same alias nodes, and
+	 * Brigadier never copies a redirect when it merges nodes, so this is decided
+	 * once by the first registration of the command (or by alias nodes which
+	 * are already in the dispatcher). canRedirect is whether this registration
+	 * works through a redirect.
+	 */
+	private boolean chooseAliasRedirects(CommandMetaData meta, boolean canRedirect) {
+		if (!CommandAPI.getConfiguration().shouldRedirectAliases() || meta.aliases.length == 0) {
+			return false;
+		}
+
+		Boolean redirectAliases = aliasRedirects.get(meta.commandName);
+		if (redirectAliases == null) {
+			redirectAliases = canRedirect;
+			for (String alias : meta.aliases) {
+				CommandNode<CommandSourceStack> aliasNode = DISPATCHER.getRoot().getChild(alias);
+				if (aliasNode != null) {
+					// An alias node that's already registered keeps its mode
+					redirectAliases = aliasNode.getRedirect() != null;
+					break;
+				}
+			}
+			aliasRedirects.put(meta.commandName, redirectAliases);
+		}
+
+		if (redirectAliases && !canRedirect) {
+			CommandAPI.logWarning("""
+				The aliases of /%s redirect to it, so chat previews and converted commands won't work through them:
+
+				  %s
+				""".formatted(meta.commandName, String.join(", ", meta.aliases)));
+		}
+		return redirectAliases;
+	}
+
+	// Builds the nodes of our NMS command using the given arguments for this
+	// method. This doesn't touch the dispatcher
+	private CompiledCommand<CommandSourceStack> compileCommand(CommandMetaData meta, final Argument<?>[] args,
+			CommandAPIExecutor<? extends CommandSender> executor, boolean converted, boolean redirectAliases)
+			throws CommandSyntaxException {
+		long startTime = System.nanoTime();
 
 		// Generate the actual command
 		Command<CommandSourceStack> command = generateCommand(args, executor, converted);
@@ -795,44 +1494,125 @@ public class CommandAPIHandler<CommandSourceStack> {
 		 * argument needs to be connected to the command name, so we get: CommandName ->
 		 * Args1 -> Args2 -> ... -> ArgsN -> Executor
 		 */
-		LiteralCommandNode<CommandSourceStack> resultantNode;
-		if (args.length == 0) {
-			// Link command name to the executor
-			resultantNode = DISPATCHER.register(getLiteralArgumentBuilder(commandName)
-					.requires(generatePermissions(commandName, permission, requirements)).executes(command));
-
-			// Register aliases
-			for (String alias : aliases) {
-				CommandAPI.logInfo("Registering alias /" + alias + " -> " + resultantNode.getName());
-				DISPATCHER.register(getLiteralArgumentBuilder(alias)
-						.requires(generatePermissions(alias, permission, requirements)).executes(command));
+		List<List<CommandNode<CommandSourceStack>>> aliasArguments = new ArrayList<>();
+		if (!redirectAliases) {
+			for (int i = 0; i < meta.aliases.length; i++) {
+				aliasArguments.add(generateArgumentNodes(command, args));
 			}
-		} else {
+		}
+		return profiled(new CompiledCommand<>(meta, args.length == 0 ? command : null,
+				generateArgumentNodes(command, args), aliasArguments, redirectAliases), startTime);
+	}
+
+	// Builds the nodes of a CommandTree. This doesn't touch the dispatcher
+	private CompiledCommand<CommandSourceStack> compileTree(CommandMetaData meta,
+			@Nullable CommandAPIExecutor<? extends CommandSender> executor, List<ArgumentTree> arguments,
+			Set<ArgumentTree> executables, Set<ArgumentTree> live, boolean redirectAliases) throws CommandSyntaxException {
+		long startTime = System.nanoTime();
+		Command<CommandSourceStack> command = executor == null ? null : generateCommand(new Argument<?>[0], executor, false);
+
+		List<List<CommandNode<CommandSourceStack>>> aliasArguments = new ArrayList<>();
+		if (!redirectAliases) {
+			for (int i = 0; i < meta.aliases.length; i++) {
+				aliasArguments.add(generateTreeNodes(arguments, new Argument<?>[0], executables, live));
+			}
+		}
+		return profiled(new CompiledCommand<>(meta, command,
+				generateTreeNodes(arguments, new Argument<?>[0], executables, live), aliasArguments, redirectAliases),
+				startTime);
+	}
 
-			// Generate all of the arguments, following each other and finally linking to
-			// the executor
-			ArgumentBuilder<CommandSourceStack, ?> commandArguments = generateOuterArguments(
-					generateInnerArgument(command, args), args);
+	// Links the command name (and its aliases) to the compiled nodes, then
+	// registers them to the dispatcher
+	private void graft(CompiledCommand<CommandSourceStack> compiled) {
+		long startTime = System.nanoTime();
 
-			// Link command name to first argument and register
-			resultantNode = DISPATCHER.register(getLiteralArgumentBuilder(commandName)
-					.requires(generatePermissions(commandName, permission, requirements)).then(commandArguments));
+		// Expand metaData into named variables
+		String commandName = compiled.meta().commandName;
+		CommandPermission permission = compiled.meta().permission;
+		String[] aliases = compiled.meta().aliases;
+		Predicate<CommandSender> requirements = compiled.meta().requirements;
+
+		// Link command name to the executor and first arguments, and register
+		LiteralArgumentBuilder<CommandSourceStack> commandBuilder = getLiteralArgumentBuilder(commandName)
+				.requires(generatePermissions(commandName, permission, requirements));
+		if (compiled.command() != null) {
+			commandBuilder.executes(compiled.command());
+		}
+		for (CommandNode<CommandSourceStack> commandArgument : compiled.arguments()) {
+			commandBuilder.then(commandArgument);
+		}
+		LiteralCommandNode<CommandSourceStack> resultantNode = registerNode(commandBuilder);
 
-			// Register aliases
-			for (String alias : aliases) {
-				if (CommandAPI.getConfiguration().hasVerboseOutput()) {
-					CommandAPI.logInfo("Registering alias /" + alias + " -> " + resultantNode.getName());
-				}
+		// Register aliases
+		for (int i = 0; i < aliases.length; i++) {
+			CommandAPI.logInfo("Registering alias /" + aliases[i] + " -> " + resultantNode.getName());
 
-				DISPATCHER.register(getLiteralArgumentBuilder(alias)
-						.requires(generatePermissions(alias, permission, requirements)).then(commandArguments));
+			LiteralArgumentBuilder<CommandSourceStack> aliasBuilder = getLiteralArgumentBuilder(aliases[i])
+					.requires(generatePermissions(aliases[i], permission, requirements));
+			if (compiled.command() != null) {
+				aliasBuilder.executes(compiled.command());
+			}
+			if (compiled.redirectAliases()) {
+				// The command's node in the dispatcher, which already has
+				// every argument registered so far merged into it
+				aliasBuilder.redirect(DISPATCHER.getRoot().getChild(commandName));
+			} else {
+				for (CommandNode<CommandSourceStack> aliasArgument : compiled.aliasArguments().get(i)) {
+					aliasBuilder.then(aliasArgument);
+				}
 			}
+			registerNode(aliasBuilder);
 		}
 
-		// We never know if this is "the last command" and we want dynamic (even if
-		// partial)
-		// command registration. Generate the dispatcher file!
-		generateDispatcherFile();
+		if (profiler != null) {
+			profiler.recordTime(commandName, System.nanoTime() - startTime);
+		}
+	}
+
+	// Registers a command name (or alias) node to the dispatcher, like
+	// CommandDispatcher#register
+	private LiteralCommandNode<CommandSourceStack> registerNode(LiteralArgumentBuilder<CommandSourceStack> builder) {
+		LiteralCommandNode<CommandSourceStack> node = builder.build();
+		unshareMergedNodes(DISPATCHER.getRoot(), node);
+		DISPATCHER.getRoot().addChild(node);
+		return node;
+	}
+
+	// Brigadier merges a node into an existing child with the same name, which
+	// changes that child and its matching descendants. Any of them which are
+	// shared with other parents (such as the literals of a MultiLiteralArgument)
+	// are copied first, so the merge only changes the path being registered
+	private void unshareMergedNodes(CommandNode<CommandSourceStack> parent, CommandNode<CommandSourceStack> node) {
+		CommandNode<CommandSourceStack> existing = parent.getChild(node.getName());
+		if (existing == null) {
+			return;
+		}
+		if (sharedNodes.contains(existing)) {
+			existing = unshare(parent, existing);
+		}
+		for (CommandNode<CommandSourceStack> child : node.getChildren()) {
+			unshareMergedNodes(existing, child);
+		}
+	}
+
+	// Replaces a shared child of a parent with a copy of it. The copy has the
+	// same children, which are now shared with the original
+	@SuppressWarnings("unchecked")
+	private CommandNode<CommandSourceStack> unshare(CommandNode<CommandSourceStack> parent,
+			CommandNode<CommandSourceStack> node) {
+		CommandNode<CommandSourceStack> copy = node.createBuilder().build();
+		for (CommandNode<CommandSourceStack> child : node.getChildren()) {
+			copy.addChild(child);
+			sharedNodes.add(child);
+		}
+		((Map<String, CommandNode<?>>) COMMANDNODE_CHILDREN.get(parent)).put(copy.getName(), copy);
+		if (copy instanceof LiteralCommandNode) {
+			((Map<String, CommandNode<?>>) COMMANDNODE_LITERALS.get(parent)).put(copy.getName(), copy);
+		} else {
+			((Map<String, CommandNode<?>>) COMMANDNODE_ARGUMENTS.get(parent)).put(copy.getName(), copy);
+		}
+		return copy;
 	}
 
 	// Produce the commandDispatch.json file for debug purposes
@@ -849,6 +1629,74 @@ public class CommandAPIHandler<CommandSourceStack> {
 		}
 	}
 
+	//////////////////////////////////////////////////////////////////////////////////////////////////////
+	// SECTION: Registration profiling //
+	//////////////////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Starts recording how long each command takes to register, if registration
+	 * profiling is enabled in the config
+	 */
+	void startProfiling() {
+		if (CommandAPI.getConfiguration().shouldProfileRegistration()) {
+			profiler = new RegistrationProfiler(countNodes(List.of(DISPATCHER.getRoot())));
+		}
+	}
+
+	/**
+	 * Logs the report of how long each command took to register, if registration
+	 * profiling is enabled in the config
+	 */
+	void reportProfile() {
+		if (profiler != null) {
+			profiler.report(countNodes(List.of(DISPATCHER.getRoot())));
+		}
+	}
+
+	// Times how long it takes to prepare a registration
+	private PendingRegistration<CommandSourceStack> profiled(String commandName,
+			PendingRegistration<CommandSourceStack> registration) {
+		if (profiler == null) {
+			return registration;
+		}
+		return () -> {
+			long startTime = System.nanoTime();
+			List<CommandCompiler<CommandSourceStack>> compilers = registration.prepare();
+			profiler.recordTime(commandName, System.nanoTime() - startTime);
+			return compilers;
+		};
+	}
+
+	// Records how long it took to compile a command, and how many nodes it created
+	private CompiledCommand<CommandSourceStack> profiled(CompiledCommand<CommandSourceStack> compiled, long startTime) {
+		if (profiler != null) {
+			String commandName = compiled.meta().commandName;
+			profiler.recordTime(commandName, System.nanoTime() - startTime);
+
+			// The command name and alias nodes are only created when the command
+			// is grafted, but they're one node each
+			List<CommandNode<CommandSourceStack>> nodes = new ArrayList<>(compiled.arguments());
+			compiled.aliasArguments().forEach(nodes::addAll);
+			profiler.recordNodes(commandName, 1 + compiled.meta().aliases.length + countNodes(nodes),
+					compiled.meta().aliases.length);
+		}
+		return compiled;
+	}
+
+	// Counts every distinct node reachable from the given nodes. Nodes can be
+	// shared between parents, so each node is only counted once
+	private static <Source> int countNodes(List<CommandNode<Source>> nodes) {
+		Set<CommandNode<Source>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<CommandNode<Source>> toVisit = new ArrayList<>(nodes);
+		while (!toVisit.isEmpty()) {
+			CommandNode<Source> node = toVisit.remove(toVisit.size() - 1);
+			if (visited.add(node)) {
+				toVisit.addAll(node.getChildren());
+			}
+		}
+		return visited.size();
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 	// SECTION: Argument Builders //
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -913,21 +1761,36 @@ public class CommandAPIHandler<CommandSourceStack> {
 						builder);
 				CompletableFuture<Suggestions> providerSuggestionsFuture = provider.getSuggestions(cmdCtx, builder);
 				CompletableFuture<Suggestions> result = new CompletableFuture<>();
-				CompletableFuture.allOf(addedSuggestionsFuture, providerSuggestionsFuture).thenRun(() -> {
+				CompletableFuture.allOf(addedSuggestionsFuture, providerSuggestionsFuture).whenComplete((unused, throwable) -> {
+					if (throwable != null) {
+						// Either future was cancelled or failed, so these suggestions can't be sent
+						result.completeExceptionally(throwable);
+						return;
+					}
 					List<Suggestions> suggestions = new ArrayList<>();
 					suggestions.add(addedSuggestionsFuture.join());
 					suggestions.add(providerSuggestionsFuture.join());
 					result.complete(Suggestions.merge(cmdCtx.getInput(), suggestions));
 				});
-				return result;
+				return suggestionRequests.track(suggestionRequests.begin(NMS.getCommandSenderFromCSS(cmdCtx.getSource()),
+						builder.getInput()), result);
 			};
 		}
 
+		// Vanilla suggestion providers are swapped for the client's own suggestions
+		// when the command tree is sent, which only works if they aren't wrapped.
+		// Those suggestions aren't sent by the server, so there's nothing to limit
+		if (newSuggestionsProvider != provider || !(argument instanceof ICustomProvidedArgument)
+				|| argument.getOverriddenSuggestions().isPresent()) {
+			newSuggestionsProvider = SuggestionLimits.apply(argument, newSuggestionsProvider);
+		}
+
 		RequiredArgumentBuilder<CommandSourceStack, ?> requiredArgumentBuilder = RequiredArgumentBuilder
 				.argument(argument.getNodeName(), argument.getRawType());
 
 		return requiredArgumentBuilder.requires(css -> permissionCheck(NMS.getCommandSenderFromCSS(css),
-				argument.getArgumentPermission(), argument.getRequirements())).suggests(newSuggestionsProvider);
+				argument.getArgumentPermission(), argument.getRequirements()))
+				.suggests(newSuggestionsProvider);
 	}
 
 	Object[] generatePreviousArguments(CommandContext<CommandSourceStack> context, Argument<?>[] args, String nodeName)
@@ -935,15 +1798,20 @@ public class CommandAPIHandler<CommandSourceStack> {
 		// Populate Object[], which is our previously filled arguments
 		List<Object> previousArguments = new ArrayList<>();
 
-		for (Argument<?> arg : args) {
-			if (arg.getNodeName().equals(nodeName) && !(arg instanceof LiteralArgument)) {
+		for (int i = 0; i < args.length; i++) {
+			Argument<?> arg = args[i];
+			if (!(arg instanceof LiteralArgument) && !(arg instanceof MultiLiteralArgument) && nodeName.equals(arg.getNodeName())) {
 				break;
 			}
 
 			Object result;
 			try {
-				result = parseArgument(context, arg.getNodeName(), arg, previousArguments.toArray());
-			} catch (IllegalArgumentException e) {
+				if (arg instanceof MultiLiteralArgument) {
+					result = arg.isListed() ? getMultiLiteral(context, i) : null;
+				} else {
+					result = parseArgument(context, arg.getNodeName(), arg, previousArguments.toArray());
+				}
+			} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
 				/*
 				 * Redirected commands don't parse previous arguments properly. Simplest way to
 				 * determine what we should do is simply set it to null, since there's nothing
@@ -961,18 +1829,42 @@ public class CommandAPIHandler<CommandSourceStack> {
 		return previousArguments.toArray();
 	}
 
+	/**
+	 * Returns the context that the arguments of a command were parsed into. When
+	 * a command is run through a redirect (such as an alias registered as a
+	 * redirect node), Brigadier parses the arguments into a child context, but
+	 * suggestion providers are given the root context
+	 * 
+	 * @param context the context given to a suggestion provider
+	 * @return the last child context of the given context
+	 */
+	static <Source> CommandContext<Source> lastChild(CommandContext<Source> context) {
+		while (context.getChild() != null) {
+			context = context.getChild();
+		}
+		return context;
+	}
+
 	SuggestionProvider<CommandSourceStack> toSuggestions(Argument<?> theArgument, Argument<?>[] args,
 			boolean overrideSuggestions) {
 		return (CommandContext<CommandSourceStack> context, SuggestionsBuilder builder) -> {
-			// Construct the suggestion info
-			SuggestionInfo suggestionInfo = new SuggestionInfo(NMS.getCommandSenderFromCSS(context.getSource()),
-					generatePreviousArguments(context, args, theArgument.getNodeName()), builder.getInput(), builder.getRemaining());
+			// Construct the suggestion info. Starting this request first cancels the
+			// sender's previous request as soon as possible
+			CommandSender sender = NMS.getCommandSenderFromCSS(context.getSource());
+			CompletableFuture<Void> cancellation = suggestionRequests.begin(sender, builder.getInput());
+			Object[] previousArguments = previousArgumentsCache.get(sender, args, theArgument.getNodeName(),
+					builder.getInput().substring(0, builder.getStart()),
+					CommandAPI.getConfiguration().getPreviousArgumentsCacheTime(),
+					() -> generatePreviousArguments(lastChild(context), args, theArgument.getNodeName()));
+			SuggestionInfo suggestionInfo = new SuggestionInfo(sender, previousArguments, builder.getInput(),
+					builder.getRemaining(), cancellation);
 			
 			// Get the suggestions
 			Optional<ArgumentSuggestions> suggestionsToAddOrOverride = overrideSuggestions
 					? theArgument.getOverriddenSuggestions()
 					: theArgument.getIncludedSuggestions();
-			return suggestionsToAddOrOverride.orElse(ArgumentSuggestions.empty()).suggest(suggestionInfo, builder);
+			return suggestionRequests.track(cancellation,
+					suggestionsToAddOrOverride.orElse(ArgumentSuggestions.empty()).suggest(suggestionInfo, builder));
 		};
 	}
 	
@@ -1150,53 +2042,159 @@ public class CommandAPIHandler<CommandSourceStack> {
 	}
 
 	/**
-	 * A class to compute the Cartesian product of a number of lists. Source:
-	 * https://www.programmersought.com/article/86195393650/
+	 * The listed arguments of a command, along with their index in the command's
+	 * arguments and whether they need to be given the arguments parsed before
+	 * them. Only CustomArguments read the previous arguments, so every other
+	 * argument can skip copying them
 	 */
-	private final class CartesianProduct {
+	private record ArgumentPlan(Argument<?>[] arguments, int[] indexes, boolean[] readsPreviousArgs) {
+
+		static ArgumentPlan of(Argument<?>[] args) {
+			int listedArgs = 0;
+			for (Argument<?> arg : args) {
+				if (arg.isListed()) {
+					listedArgs++;
+				}
+			}
 
-		// Shouldn't be instantiated
-		private CartesianProduct() {
+			Argument<?>[] arguments = new Argument<?>[listedArgs];
+			int[] indexes = new int[listedArgs];
+			boolean[] readsPreviousArgs = new boolean[listedArgs];
+			for (int i = 0, j = 0; i < args.length; i++) {
+				if (args[i].isListed()) {
+					arguments[j] = args[i];
+					indexes[j] = i;
+					readsPreviousArgs[j] = args[i] instanceof CustomArgument;
+					j++;
+				}
+			}
+			return new ArgumentPlan(arguments, indexes, readsPreviousArgs);
 		}
 
-		/**
-		 * Returns the Cartesian product of a list of lists
-		 * 
-		 * @param <T>  the underlying type of the list of lists
-		 * @param list the list to calculate the Cartesian product of
-		 * @return a List of lists which represents the Cartesian product of all
-		 *         elements of the input
-		 */
-		public static final <T> List<List<T>> getDescartes(List<List<T>> list) {
-			List<List<T>> returnList = new ArrayList<>();
-			descartesRecursive(list, 0, returnList, new ArrayList<T>());
-			return returnList;
-		}
-
-		/**
-		 * Recursive implementation Principle: traverse sequentially from 0 of the
-		 * original list to the end
-		 * 
-		 * @param <T>          the underlying type of the list of lists
-		 * @param originalList original list
-		 * @param position     The position of the current recursion in the original
-		 *                     list
-		 * @param returnList   return result
-		 * @param cacheList    temporarily saved list
-		 */
-		private static final <T> void descartesRecursive(List<List<T>> originalList, int position,
-				List<List<T>> returnList, List<T> cacheList) {
-			List<T> originalItemList = originalList.get(position);
-			for (int i = 0; i < originalItemList.size(); i++) {
-				// The last one reuses cacheList to save memory
-				List<T> childCacheList = (i == originalItemList.size() - 1) ? cacheList : new ArrayList<>(cacheList);
-				childCacheList.add(originalItemList.get(i));
-				if (position == originalList.size() - 1) {// Exit recursion to the end
-					returnList.add(childCacheList);
-					continue;
+	}
+
+	/**
+	 * A node in the tree of registered argument paths for a command. Children
+	 * are indexed by their node name, and each node remembers the type of the
+	 * argument that was registered there and the command which registered it
+	 */
+	private static final class RegisteredNode {
+
+		final String argumentType;
+		final RegisteredCommand owner;
+		final Map<String, RegisteredNode> children;
+
+		RegisteredNode(String argumentType, RegisteredCommand owner) {
+			this.argumentType = argumentType;
+			this.owner = owner;
+			this.children = new HashMap<>();
+		}
+
+	}
+
+	/**
+	 * The expanded paths of a path of arguments which were registered, and
+	 * whether that was every one of them
+	 */
+	private record PreparedPath(List<Argument<?>[]> registeredExpansions, boolean complete) {
+		static final PreparedPath NONE = new PreparedPath(List.of(), false);
+	}
+
+	/**
+	 * A command registration which may be deferred by a {@link RegistrationBatch}.
+	 * Preparing it checks the command and keeps track of its registered paths,
+	 * returning the compilers which build its nodes
+	 */
+	@FunctionalInterface
+	private interface PendingRegistration<Source> {
+		List<CommandCompiler<Source>> prepare();
+	}
+
+	/**
+	 * A registration deferred by a {@link RegistrationBatch}, with the name of
+	 * its command so failures can be reported
+	 */
+	private record DeferredRegistration<Source>(String commandName, PendingRegistration<Source> registration) {
+	}
+
+	/**
+	 * Builds the nodes of a prepared command, without touching the dispatcher
+	 */
+	@FunctionalInterface
+	private interface CommandCompiler<Source> {
+		CompiledCommand<Source> compile() throws CommandSyntaxException;
+	}
+
+	/**
+	 * The nodes of a command which are ready to be grafted onto the dispatcher.
+	 * The command is only present if the command name itself is executable.
+	 * aliasArguments holds a separate copy of the arguments for each alias,
+	 * unless the aliases redirect to the command's node
+	 */
+	private record CompiledCommand<Source>(CommandMetaData meta, @Nullable Command<Source> command,
+			List<CommandNode<Source>> arguments, List<List<CommandNode<Source>>> aliasArguments,
+			boolean redirectAliases) {
+	}
+
+	/**
+	 * Iterates over the Cartesian product of the entity names of each argument of
+	 * a converted command, without building every combination up front. Each
+	 * combination is a copy of the command's arguments, with every non-null
+	 * entity name put in place of its argument.
+	 */
+	private static final class CartesianProduct implements Iterator<String[]> {
+
+		private final String[] arguments;
+		private final List<String>[] entityNames;
+		private final int[] positions;
+		private boolean hasNext;
+
+		CartesianProduct(String[] arguments, List<String>[] entityNames) {
+			this.arguments = arguments;
+			this.entityNames = entityNames;
+			this.positions = new int[entityNames.length];
+
+			// If any argument has no entity names, there are no combinations
+			this.hasNext = true;
+			for (List<String> names : entityNames) {
+				if (names.isEmpty()) {
+					this.hasNext = false;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		@Override
+		public String[] next() {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
+
+			String[] result = arguments.clone();
+			// We assume result.length == entityNames.length
+			if (result.length == entityNames.length) {
+				for (int i = 0; i < result.length; i++) {
+					String name = entityNames[i].get(positions[i]);
+					if (name != null) {
+						result[i] = name;
+					}
+				}
+			}
+
+			// Move to the next combination, where the last argument changes fastest
+			hasNext = false;
+			for (int i = positions.length - 1; i >= 0; i--) {
+				if (++positions[i] < entityNames[i].size()) {
+					hasNext = true;
+					break;
 				}
-				descartesRecursive(originalList, position + 1, returnList, childCacheList);
+				positions[i] = 0;
 			}
+			return result;
 		}
 
 	}
@@ -20,10 +20,15 @@
  *******************************************************************************/
 package dev.jorel.commandapi;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -229,43 +234,120 @@ public final class Converter {
 	 * https://www.jorel.dev/blog/Simplifying-Bukkit-CommandSenders/
 	 */
 	private static CommandSender mergeProxySender(NativeProxyCommandSender proxySender) {
-		// Add all interfaces
-		Set<Class<?>> calleeInterfacesList = new HashSet<>();
-		Class<?> currentClass = proxySender.getCallee().getClass();
-		if (currentClass.isInterface()) {
-			calleeInterfacesList.add(currentClass);
+		ProxyType proxyType = PROXY_TYPES.get(proxySender.getCallee().getClass());
+		InvocationHandler handler = (Object p, Method method, Object[] args) -> proxyType.invoke(proxySender, method, args);
+		try {
+			return (CommandSender) proxyType.constructor.newInstance(handler);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Failed to create a proxy for " + proxySender.getCallee(), e);
 		}
-		while (currentClass != null) {
-			calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
-			currentClass = currentClass.getSuperclass();
+	}
+
+	// The proxy class for each class of callee, created when a command is first
+	// run by a callee of that class
+	private static final ClassValue<ProxyType> PROXY_TYPES = new ClassValue<>() {
+		@Override
+		protected ProxyType computeValue(Class<?> calleeClass) {
+			return new ProxyType(calleeClass);
 		}
-		Class<?>[] calleeInterfaces = calleeInterfacesList.toArray(new Class<?>[0]);
+	};
+
+	/**
+	 * The proxy class which merges a NativeProxyCommandSender for a given class of
+	 * callee, along with how each of its methods is handled. Method calls are
+	 * dispatched with MethodHandles which are looked up when the proxy class is
+	 * created, instead of reflection every time they're called
+	 */
+	private static final class ProxyType {
+
+		private static final Object[] NO_ARGS = new Object[0];
+
+		final Constructor<?> constructor;
+		private final Map<Method, ProxyMethod> methods;
 
-		InvocationHandler handler = (Object p, Method method, Object[] args) -> {
-			switch(method.getName()) {
+		ProxyType(Class<?> calleeClass) {
+			// Add all interfaces
+			Set<Class<?>> calleeInterfacesList = new HashSet<>();
+			Class<?> currentClass = calleeClass;
+			if (currentClass.isInterface()) {
+				calleeInterfacesList.add(currentClass);
+			}
+			while (currentClass != null) {
+				calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
+				currentClass = currentClass.getSuperclass();
+			}
+			Class<?>[] calleeInterfaces = calleeInterfacesList.toArray(new Class<?>[0]);
+
+			try {
+				this.constructor = Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces,
+						(p, method, args) -> null).getClass().getConstructor(InvocationHandler.class);
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException("Failed to create a proxy class for " + calleeClass, e);
+			}
+
+			// The Method passed to a proxy is the one declared by the interface (or
+			// Object, for equals, hashCode and toString)
+			this.methods = new HashMap<>();
+			for (Class<?> calleeInterface : calleeInterfaces) {
+				for (Method method : calleeInterface.getMethods()) {
+					methods.putIfAbsent(method, createProxyMethod(method));
+				}
+			}
+			for (Method method : Object.class.getMethods()) {
+				methods.putIfAbsent(method, createProxyMethod(method));
+			}
+		}
+
+		Object invoke(NativeProxyCommandSender proxySender, Method method, Object[] args) throws Throwable {
+			ProxyMethod proxyMethod = methods.get(method);
+			if (proxyMethod == null) {
+				// This case should never happen, but just in case
+				proxyMethod = createProxyMethod(method);
+			}
+			return proxyMethod.invoke(proxySender, args == null ? NO_ARGS : args);
+		}
+
+		private static ProxyMethod createProxyMethod(Method method) {
+			switch (method.getName()) {
 				case "getLocation":
-					return proxySender.getLocation();
+					return (proxySender, args) -> proxySender.getLocation();
 				case "getBlock":
-					return proxySender.getLocation().getBlock();
+					return (proxySender, args) -> proxySender.getLocation().getBlock();
 				case "getEyeLocation":
-					if(proxySender.getCallee() instanceof LivingEntity livingEntity) {
-						Location loc = proxySender.getLocation();
-						loc.setY(loc.getY() + livingEntity.getEyeHeight());
-						return loc;
-					} else {
-						// This case should never happen. If it does, please let me know!
-						return proxySender.getLocation();
-					}
+					return (proxySender, args) -> {
+						if (proxySender.getCallee() instanceof LivingEntity livingEntity) {
+							Location loc = proxySender.getLocation();
+							loc.setY(loc.getY() + livingEntity.getEyeHeight());
+							return loc;
+						} else {
+							// This case should never happen. If it does, please let me know!
+							return proxySender.getLocation();
+						}
+					};
 				case "getWorld":
-					return proxySender.getWorld();
+					return (proxySender, args) -> proxySender.getWorld();
 				default:
-					return method.invoke(
-							CALLER_METHODS.contains(method.getName()) ? proxySender.getCaller() : proxySender.getCallee(),
-							args);
+					boolean useCaller = CALLER_METHODS.contains(method.getName());
+					MethodHandle handle;
+					try {
+						// (Object target, Object[] args) -> Object
+						handle = MethodHandles.publicLookup().unreflect(method)
+								.asSpreader(Object[].class, method.getParameterCount())
+								.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+					} catch (IllegalAccessException e) {
+						// Not accessible as a MethodHandle, so fall back to reflection
+						return (proxySender, args) -> method.invoke(useCaller ? proxySender.getCaller() : proxySender.getCallee(), args);
+					}
+					return (proxySender, args) -> (Object) handle.invokeExact(
+							(Object) (useCaller ? proxySender.getCaller() : proxySender.getCallee()), args);
 			}
-		};
+		}
+
+	}
 
-		return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces, handler);
+	@FunctionalInterface
+	private interface ProxyMethod {
+		Object invoke(NativeProxyCommandSender proxySender, Object[] args) throws Throwable;
 	}
 
 }
@@ -6,6 +6,8 @@ import org.bukkit.command.CommandSender;
 
 import dev.jorel.commandapi.arguments.Argument;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+import dev.jorel.commandapi.executors.AsyncCommandExecutor;
+import dev.jorel.commandapi.executors.AsyncPlayerCommandExecutor;
 import dev.jorel.commandapi.executors.CommandBlockCommandExecutor;
 import dev.jorel.commandapi.executors.CommandBlockResultingCommandExecutor;
 import dev.jorel.commandapi.executors.CommandExecutor;
@@ -236,6 +238,32 @@ abstract class Executable<T extends Executable<T>> {
 		return (T) this;
 	}
 
+	// Asynchronous command executor
+
+	/**
+	 * Adds an executor to the current command builder which runs off the server thread
+	 * @param executor A lambda of type <code>(CommandSender, Object[]) -&gt; CompletableFuture&lt;Integer&gt;</code> that will be executed on the CommandAPI's async executor when the command is run
+	 * @return this command builder
+	 */
+	@SuppressWarnings("unchecked")
+	public T executesAsync(AsyncCommandExecutor executor) {
+		this.executor.addNormalExecutor((CommandExecutor) (sender, args) ->
+			CommandAPIHandler.getInstance().executeAsync(sender, () -> executor.run(sender, args)));
+		return (T) this;
+	}
+
+	/**
+	 * Adds an executor to the current command builder which runs off the server thread
+	 * @param executor A lambda of type <code>(Player, Object[]) -&gt; CompletableFuture&lt;Integer&gt;</code> that will be executed on the CommandAPI's async executor when the command is run
+	 * @return this command builder
+	 */
+	@SuppressWarnings("unchecked")
+	public T executesPlayerAsync(AsyncPlayerCommandExecutor executor) {
+		this.executor.addNormalExecutor((PlayerCommandExecutor) (player, args) ->
+			CommandAPIHandler.getInstance().executeAsync(player, () -> executor.run(player, args)));
+		return (T) this;
+	}
+
 	/**
 	 * Returns the executors that this command has
 	 * @return the executors that this command has
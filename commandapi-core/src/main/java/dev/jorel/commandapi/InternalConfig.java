@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import org.bukkit.Bukkit;
@@ -59,9 +60,43 @@ public class InternalConfig {
 	// Create a command_registration.json file
 	private final File dispatcherFile;
 
+	// Whether to log a report of how long each command took to register
+	private final boolean profileRegistration;
+
+	// Whether aliases should redirect to the command's node
+	private final boolean redirectAliases;
+
+	// Number of threads used to build the nodes of a registration batch
+	private final int compileThreads;
+
 	// List of plugins to convert
 	private final Map<JavaPlugin, String[]> pluginsToConvert;
 
+	// Maximum number of times a converted command runs for one execution
+	private final int convertedExpansionLimit;
+
+	// Number of times a converted command runs per tick before the rest are
+	// spread over the following ticks
+	private final int convertedExpansionsPerTick;
+
+	// Whether the results of permission checks are remembered for each player
+	private final boolean cachePermissions;
+
+	// How long remembered permissions are kept, in milliseconds, or 0 to keep them until forgotten
+	private final long permissionCacheTime;
+
+	// Whether requirement updates are sent once on the next tick instead of immediately
+	private final boolean coalesceRequirementUpdates;
+
+	// How long previous arguments parsed for suggestions are kept, in milliseconds
+	private final long previousArgumentsCacheTime;
+
+	// The maximum number of suggestions sent for an argument, or 0 for no maximum
+	private final int maxSuggestions;
+
+	// The maximum size of the tooltips sent for an argument, or 0 for no maximum
+	private final int maxSuggestionTooltipBytes;
+
 	// List of plugins which should ignore proxied senders
 	private final List<String> skipSenderProxy;
 
@@ -73,6 +108,9 @@ public class InternalConfig {
 
 	private final NMS<?> customNMS;
 
+	// The executor that asynchronous commands run on, or null for the default
+	private final Executor asyncExecutor;
+
 	InternalConfig(FileConfiguration fileConfig, Class<?> nbtContainerClass,
 		Function<Object, ?> nbtContainerConstructor, File dispatcherFile) {
 		this.verboseOutput = fileConfig.getBoolean("verbose-outputs");
@@ -80,12 +118,24 @@ public class InternalConfig {
 		this.useLatestNMSVersion = fileConfig.getBoolean("use-latest-nms-version");
 		this.message_missingExecutorImplementation = fileConfig.getString("messages.missing-executor-implementation");
 		this.dispatcherFile = fileConfig.getBoolean("create-dispatcher-json") ? dispatcherFile : null;
+		this.profileRegistration = fileConfig.getBoolean("profile-registration");
+		this.redirectAliases = fileConfig.getBoolean("redirect-aliases");
+		this.compileThreads = fileConfig.getInt("compile-threads");
+		this.convertedExpansionLimit = fileConfig.getInt("converted-expansion-limit");
+		this.convertedExpansionsPerTick = fileConfig.getInt("converted-expansions-per-tick");
+		this.cachePermissions = fileConfig.getBoolean("cache-permissions");
+		this.permissionCacheTime = fileConfig.getLong("permission-cache-time");
+		this.coalesceRequirementUpdates = fileConfig.getBoolean("coalesce-requirement-updates");
+		this.previousArgumentsCacheTime = fileConfig.getLong("previous-arguments-cache-time");
+		this.maxSuggestions = fileConfig.getInt("max-suggestions");
+		this.maxSuggestionTooltipBytes = fileConfig.getInt("max-suggestion-tooltip-bytes");
 		this.pluginsToConvert = new HashMap<>();
 		this.skipSenderProxy = new ArrayList<>();
 		this.commandsToConvert = new ArrayList<>();
 		this.nbtContainerClass = nbtContainerClass;
 		this.nbtContainerConstructor = nbtContainerConstructor;
 		this.customNMS = null;
+		this.asyncExecutor = null;
 
 		if (!fileConfig.getList("plugins-to-convert").isEmpty()
 			&& fileConfig.getMapList("plugins-to-convert").isEmpty()) {
@@ -152,12 +202,24 @@ public class InternalConfig {
 		this.useLatestNMSVersion = config.useLatestNMSVersion;
 		this.message_missingExecutorImplementation = config.missingExecutorImplementationMessage;
 		this.dispatcherFile = config.dispatcherFile;
+		this.profileRegistration = config.profileRegistration;
+		this.redirectAliases = config.redirectAliases;
+		this.compileThreads = config.compileThreads;
+		this.convertedExpansionLimit = config.convertedExpansionLimit;
+		this.convertedExpansionsPerTick = config.convertedExpansionsPerTick;
+		this.cachePermissions = config.cachePermissions;
+		this.permissionCacheTime = config.permissionCacheTime;
+		this.coalesceRequirementUpdates = config.coalesceRequirementUpdates;
+		this.previousArgumentsCacheTime = config.previousArgumentsCacheTime;
+		this.maxSuggestions = config.maxSuggestions;
+		this.maxSuggestionTooltipBytes = config.maxSuggestionTooltipBytes;
 		this.pluginsToConvert = new HashMap<>();
 		this.skipSenderProxy = new ArrayList<>();
 		this.commandsToConvert = new ArrayList<>();
 		this.nbtContainerClass = config.nbtContainerClass;
 		this.nbtContainerConstructor = config.nbtContainerConstructor;
 		this.customNMS = config.customNMS;
+		this.asyncExecutor = config.asyncExecutor;
 	}
 
 	/**
@@ -197,6 +259,95 @@ public class InternalConfig {
 		return this.dispatcherFile;
 	}
 
+	/**
+	 * @return Whether a report of how long each command took to register should
+	 *         be logged once the server has loaded
+	 */
+	public boolean shouldProfileRegistration() {
+		return this.profileRegistration;
+	}
+
+	/**
+	 * @return Whether aliases should be registered as nodes which redirect to
+	 *         the command's node
+	 */
+	public boolean shouldRedirectAliases() {
+		return this.redirectAliases;
+	}
+
+	/**
+	 * @return The number of worker threads used to build the nodes of a
+	 *         registration batch, or 0 if they should be built on the server thread
+	 */
+	public int getCompileThreads() {
+		return this.compileThreads;
+	}
+
+	/**
+	 * @return The maximum number of times a converted command is run for a single
+	 *         execution, or 0 if there is no limit
+	 */
+	public int getConvertedExpansionLimit() {
+		return this.convertedExpansionLimit;
+	}
+
+	/**
+	 * @return The number of times a converted command is run in a single tick
+	 *         before the remaining runs are spread over the following ticks, or 0
+	 *         if every run happens immediately
+	 */
+	public int getConvertedExpansionsPerTick() {
+		return this.convertedExpansionsPerTick;
+	}
+
+	/**
+	 * @return Whether the results of permission checks are remembered for each
+	 *         player
+	 */
+	public boolean shouldCachePermissions() {
+		return this.cachePermissions;
+	}
+
+	/**
+	 * @return How long a player's remembered permissions are kept, in
+	 *         milliseconds, or 0 if they are kept until they are forgotten
+	 */
+	public long getPermissionCacheTime() {
+		return this.permissionCacheTime;
+	}
+
+	/**
+	 * @return Whether requirement updates are sent once on the next tick instead
+	 *         of immediately
+	 */
+	public boolean shouldCoalesceRequirementUpdates() {
+		return this.coalesceRequirementUpdates;
+	}
+
+	/**
+	 * @return How long previous arguments parsed for suggestions are kept, in
+	 *         milliseconds, or 0 if they are parsed for every suggestion request
+	 */
+	public long getPreviousArgumentsCacheTime() {
+		return this.previousArgumentsCacheTime;
+	}
+
+	/**
+	 * @return The maximum number of suggestions sent for an argument, or 0 if
+	 *         every suggestion is sent
+	 */
+	public int getMaxSuggestions() {
+		return this.maxSuggestions;
+	}
+
+	/**
+	 * @return The maximum size of the tooltips sent for an argument, in bytes, or
+	 *         0 if every tooltip is sent
+	 */
+	public int getMaxSuggestionTooltipBytes() {
+		return this.maxSuggestionTooltipBytes;
+	}
+
 	/**
 	 * @return A set of plugins and a list of commands to convert
 	 */
@@ -246,4 +397,12 @@ public class InternalConfig {
 		return this.customNMS;
 	}
 
+	/**
+	 * @return The executor that asynchronous commands run on, or null if the
+	 *         CommandAPI's default executor should be used
+	 */
+	public Executor getAsyncExecutor() {
+		return this.asyncExecutor;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.arguments.Argument;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+
+/**
+ * A handle to an argument which is only parsed when its value is first
+ * requested. Arguments which have been set to be lazy using
+ * {@link Argument#setLazy(boolean)} are given to the command executor as a
+ * {@code LazyArgument} instead of their parsed value, so expensive arguments
+ * (such as entity selectors or NBT) which the executor doesn't use are never
+ * parsed.
+ *
+ * <pre>
+ * new CommandAPICommand("kill")
+ *     .withArguments(new EntitySelectorArgument.ManyEntities("targets").setLazy(true))
+ *     .executes((sender, args) -&gt; {
+ *         Collection&lt;Entity&gt; targets = ((LazyArgument&lt;Collection&lt;Entity&gt;&gt;) args[0]).get();
+ *     })
+ *     .register();
+ * </pre>
+ *
+ * A {@code LazyArgument} should only be used while the command executor is
+ * running.
+ *
+ * @param <T> the type of the parsed argument
+ */
+public final class LazyArgument<T> {
+
+	@FunctionalInterface
+	interface Parser<T> {
+		T parse() throws CommandSyntaxException;
+	}
+
+	private Parser<T> parser;
+	private T value;
+
+	LazyArgument(Parser<T> parser) {
+		this.parser = parser;
+	}
+
+	/**
+	 * Returns the value of this argument, parsing it if it hasn't been parsed yet
+	 *
+	 * @return the parsed value of this argument
+	 * @throws WrapperCommandSyntaxException if the argument could not be parsed.
+	 *                                       This can be thrown out of the command
+	 *                                       executor to fail the command
+	 */
+	public T get() throws WrapperCommandSyntaxException {
+		try {
+			return resolve();
+		} catch (CommandSyntaxException e) {
+			throw new WrapperCommandSyntaxException(e);
+		}
+	}
+
+	// Parses this argument if it hasn't been parsed yet, without wrapping the exception
+	T resolve() throws CommandSyntaxException {
+		if (parser != null) {
+			value = parser.parse();
+			parser = null;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns whether this argument has been parsed
+	 *
+	 * @return true if {@link LazyArgument#get()} has successfully parsed this
+	 *         argument
+	 */
+	public boolean isParsed() {
+		return parser == null;
+	}
+
+}
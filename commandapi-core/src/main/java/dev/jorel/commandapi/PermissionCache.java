@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Remembers the result of checking each player's permissions. Brigadier checks
+ * the requirements of every node in the command tree when it is sent to a
+ * player and every time they type, which would otherwise call the permissions
+ * plugin for the same permissions over and over. This is enabled using the
+ * cache-permissions config option.
+ * <p>
+ * Each player's results are stamped with the generation they were computed in.
+ * Forgetting every player's results is done by moving to the next generation,
+ * and stale results are replaced when they are next used. Permission plugins
+ * don't announce when they change a player's permissions, so results also
+ * expire after the permission-cache-time. Suggestions can be computed off the
+ * main thread, so this is safe to use from any thread.
+ */
+final class PermissionCache {
+
+	private final AtomicInteger generation;
+	private final Map<UUID, PlayerPermissions> players;
+
+	PermissionCache() {
+		this.generation = new AtomicInteger();
+		this.players = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Checks if a player has a permission, using the remembered result if there
+	 * is one
+	 *
+	 * @param player     the player to check the permission of
+	 * @param permission the permission to check
+	 * @param maxAge     how long a player's results are kept, in milliseconds, or
+	 *                   0 to keep them until they are forgotten
+	 * @return true if the player has the permission
+	 */
+	boolean hasPermission(Player player, String permission, long maxAge) {
+		int currentGeneration = generation.get();
+		long now = System.currentTimeMillis();
+		PlayerPermissions permissions = players.get(player.getUniqueId());
+		if (permissions == null || permissions.generation != currentGeneration
+				|| (maxAge > 0 && now - permissions.created >= maxAge)) {
+			permissions = new PlayerPermissions(currentGeneration, now);
+			players.put(player.getUniqueId(), permissions);
+		}
+		return permissions.results.computeIfAbsent(permission, player::hasPermission);
+	}
+
+	/**
+	 * Forgets the remembered permissions of a player
+	 *
+	 * @param player the player whose permissions may have changed
+	 */
+	void invalidate(Player player) {
+		players.remove(player.getUniqueId());
+	}
+
+	/**
+	 * Forgets the remembered permissions of every player
+	 */
+	void invalidateAll() {
+		generation.incrementAndGet();
+	}
+
+	private static final class PlayerPermissions {
+
+		final int generation;
+		final long created;
+		final Map<String, Boolean> results;
+
+		PlayerPermissions(int generation, long created) {
+			this.generation = generation;
+			this.created = created;
+			this.results = new ConcurrentHashMap<>();
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.arguments.Argument;
+
+/**
+ * Remembers the previous arguments parsed for each player's last suggestion
+ * request. Players send a suggestion request for every key they press, but
+ * while they're typing an argument, the input before it doesn't change. If a
+ * request has the same input before the argument being suggested as the last
+ * one, the previous arguments don't need to be parsed again. This is enabled
+ * using the previous-arguments-cache-time config option.
+ * <p>
+ * Only one entry is kept per player, and entries expire, because arguments
+ * like entity selectors and relative locations depend on the state of the
+ * world. Suggestions are computed off the main thread, so this is safe to use
+ * from any thread.
+ */
+final class PreviousArgumentsCache {
+
+	// Expired entries are removed when there are more than this many
+	private static final int MAX_ENTRIES = 1024;
+
+	private final Map<UUID, Entry> entries;
+
+	PreviousArgumentsCache() {
+		this.entries = new ConcurrentHashMap<>();
+	}
+
+	@FunctionalInterface
+	interface Parser {
+		Object[] parse() throws CommandSyntaxException;
+	}
+
+	/**
+	 * Gets the previous arguments for a suggestion request, parsing them if they
+	 * aren't cached
+	 *
+	 * @param sender    the sender requesting suggestions
+	 * @param args      the arguments of the command being suggested
+	 * @param nodeName  the node name of the argument being suggested
+	 * @param prefix    the input before the argument being suggested
+	 * @param ttlMillis how long parsed arguments are kept, in milliseconds
+	 * @param parser    parses the previous arguments
+	 * @return the previous arguments
+	 * @throws CommandSyntaxException if the previous arguments could not be
+	 *                                parsed
+	 */
+	Object[] get(CommandSender sender, Argument<?>[] args, String nodeName, String prefix, long ttlMillis,
+			Parser parser) throws CommandSyntaxException {
+		if (ttlMillis <= 0 || !(sender instanceof Player player)) {
+			return parser.parse();
+		}
+
+		long now = System.currentTimeMillis();
+		Entry entry = entries.get(player.getUniqueId());
+		if (entry != null && entry.expiry() > now && entry.args() == args && entry.nodeName().equals(nodeName)
+				&& entry.prefix().equals(prefix)) {
+			// Suggestion providers could change the array they're given
+			return entry.previousArguments().clone();
+		}
+
+		Object[] previousArguments = parser.parse();
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.values().removeIf(oldEntry -> oldEntry.expiry() <= now);
+		}
+		entries.put(player.getUniqueId(), new Entry(args, nodeName, prefix, previousArguments.clone(), now + ttlMillis));
+		return previousArguments;
+	}
+
+	private record Entry(Argument<?>[] args, String nodeName, String prefix, Object[] previousArguments, long expiry) {
+	}
+
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+/**
+ * A registration transaction, created using {@link CommandAPI#beginBatch()}.
+ * Commands registered while a batch is open are collected and are only added
+ * to Brigadier's command dispatcher when the batch is committed. Expensive
+ * post-registration work (such as generating the dispatcher file, updating
+ * help topics and linking permissions) is then performed once for the whole
+ * batch, instead of once per command.
+ * 
+ * <pre>
+ * RegistrationBatch batch = CommandAPI.beginBatch();
+ * new CommandAPICommand("a").executes((sender, args) -&gt; {}).register();
+ * new CommandAPICommand("b").executes((sender, args) -&gt; {}).register();
+ * batch.commit();
+ * </pre>
+ */
+public final class RegistrationBatch {
+
+	private boolean committed;
+
+	RegistrationBatch() {
+		this.committed = false;
+		CommandAPIHandler.getInstance().beginBatch();
+	}
+
+	/**
+	 * Registers all commands collected by this batch. If this batch is nested
+	 * inside another batch, commands are registered when the outermost batch is
+	 * committed. Committing a batch more than once has no effect.
+	 */
+	public void commit() {
+		if (committed) {
+			CommandAPI.logWarning("Tried to commit a registration batch which has already been committed!");
+			return;
+		}
+		committed = true;
+		CommandAPIHandler.getInstance().commitBatch();
+	}
+
+	/**
+	 * Returns whether this batch has been committed
+	 * 
+	 * @return true if {@link RegistrationBatch#commit()} has been called on this
+	 *         batch
+	 */
+	public boolean isCommitted() {
+		return committed;
+	}
+
+}
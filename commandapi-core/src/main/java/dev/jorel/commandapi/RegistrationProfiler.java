@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long each command takes to register and how much it adds to the
+ * command dispatcher. This is enabled using the profile-registration config
+ * option, and a report is logged once the server has loaded.
+ */
+final class RegistrationProfiler {
+
+	private final int initialDispatcherNodes;
+	private final Map<String, Entry> entries;
+
+	RegistrationProfiler(int initialDispatcherNodes) {
+		this.initialDispatcherNodes = initialDispatcherNodes;
+		this.entries = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Records the time spent on one step of registering a command. Commands can
+	 * be registered from worker threads, so this is safe to call from any thread
+	 *
+	 * @param commandName the name of the command
+	 * @param nanos       the time spent, in nanoseconds
+	 */
+	void recordTime(String commandName, long nanos) {
+		entries.merge(commandName, new Entry(nanos, 0, 0, 0, 0), Entry::add);
+	}
+
+	/**
+	 * Records a list of arguments registered to a command
+	 *
+	 * @param commandName the name of the command
+	 * @param paths       the number of paths the arguments expanded into, which
+	 *                    is more than one if they contain MultiLiteralArguments
+	 */
+	void recordDefinition(String commandName, int paths) {
+		entries.merge(commandName, new Entry(0, 0, 0, 1, paths), Entry::add);
+	}
+
+	/**
+	 * Records the nodes built for a command
+	 *
+	 * @param commandName the name of the command
+	 * @param nodes       the number of nodes, including the command and its aliases
+	 * @param aliases     the number of aliases of the command
+	 */
+	void recordNodes(String commandName, int nodes, int aliases) {
+		entries.merge(commandName, new Entry(0, nodes, aliases, 0, 0), Entry::add);
+	}
+
+	/**
+	 * Logs every recorded command, slowest first
+	 *
+	 * @param dispatcherNodes the number of nodes currently in the command
+	 *                        dispatcher
+	 */
+	void report(int dispatcherNodes) {
+		List<Map.Entry<String, Entry>> sortedEntries = new ArrayList<>(entries.entrySet());
+		sortedEntries.sort(Comparator.comparingLong((Map.Entry<String, Entry> entry) -> entry.getValue().nanos()).reversed());
+
+		long totalNanos = 0;
+		StringBuilder builder = new StringBuilder("Registration profile:\n");
+		builder.append(String.format("  %-24s %10s %8s %8s %12s%n", "Command", "Time (ms)", "Nodes", "Aliases", "Expansion"));
+		for (Map.Entry<String, Entry> mapEntry : sortedEntries) {
+			Entry entry = mapEntry.getValue();
+			totalNanos += entry.nanos();
+			builder.append(String.format("  %-24s %10.3f %8d %8d %11.1fx%n", "/" + mapEntry.getKey(),
+					entry.nanos() / 1_000_000.0, entry.nodes(), entry.aliases(),
+					entry.definitions() == 0 ? 0.0 : (double) entry.paths() / entry.definitions()));
+		}
+		builder.append(String.format("Registered %d commands in %.3f ms. The command dispatcher grew from %d to %d nodes",
+				sortedEntries.size(), totalNanos / 1_000_000.0, initialDispatcherNodes, dispatcherNodes));
+		CommandAPI.logNormal(builder.toString());
+	}
+
+	private record Entry(long nanos, int nodes, int aliases, int definitions, int paths) {
+
+		Entry add(Entry other) {
+			// A command's aliases are the same every time it's registered
+			return new Entry(nanos + other.nanos, nodes + other.nodes, Math.max(aliases, other.aliases),
+					definitions + other.definitions, paths + other.paths);
+		}
+
+	}
+
+}
@@ -20,6 +20,8 @@
  *******************************************************************************/
 package dev.jorel.commandapi;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.bukkit.command.CommandSender;
 
 /**
@@ -32,6 +34,8 @@ import org.bukkit.command.CommandSender;
  *                     /)
  * @param currentArg   - the current partially typed argument. For example
  *                     "/mycmd tes" will return "tes"
+ * @param cancellation - a future which is completed if these suggestions are no
+ *                     longer needed, because the sender has typed something else
  */
 public record SuggestionInfo(
 		/** @param sender - the CommandSender typing this command */
@@ -52,5 +56,37 @@ public record SuggestionInfo(
 		 * @param currentArg - the current partially typed argument. For example "/mycmd
 		 *                   tes" will return "tes"
 		 */
-		String currentArg) {
+		String currentArg,
+
+		/**
+		 * @param cancellation - a future which is completed if these suggestions are
+		 *                     no longer needed, because the sender has typed something
+		 *                     else
+		 */
+		CompletableFuture<Void> cancellation) {
+
+	/**
+	 * Creates a SuggestionInfo which is never cancelled
+	 * 
+	 * @param sender       the CommandSender typing this command
+	 * @param previousArgs the list of previously declared (and parsed) arguments
+	 * @param currentInput a string representing the full current input (including
+	 *                     /)
+	 * @param currentArg   the current partially typed argument
+	 */
+	public SuggestionInfo(CommandSender sender, Object[] previousArgs, String currentInput, String currentArg) {
+		this(sender, previousArgs, currentInput, currentArg, new CompletableFuture<>());
+	}
+
+	/**
+	 * Returns whether these suggestions are no longer needed. Slow suggestions
+	 * can check this to stop early
+	 * 
+	 * @return true if the sender has sent a newer suggestion request for the same
+	 *         command
+	 */
+	public boolean isCancelled() {
+		return cancellation.isDone();
+	}
+
 }
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.Suggestions;
+
+import dev.jorel.commandapi.arguments.Argument;
+
+/**
+ * Limits the number of suggestions, and the size of their tooltips, sent for
+ * an argument. This is set using the max-suggestions and
+ * max-suggestion-tooltip-bytes config options, or
+ * {@link Argument#setMaxSuggestions(int)} and
+ * {@link Argument#setMaxSuggestionTooltipBytes(int)} for a single argument.
+ * Suggestions are limited after the argument's suggestions have been created,
+ * but before they're sent, so the tooltips of suggestions which are left out
+ * are never serialized into the packet. Arguments which use a vanilla
+ * suggestion provider (an {@link dev.jorel.commandapi.arguments.ICustomProvidedArgument}
+ * without overridden suggestions) aren't limited, because the server can only
+ * tell the client to compute some of those suggestions itself if the provider
+ * isn't wrapped.
+ */
+final class SuggestionLimits {
+
+	private SuggestionLimits() {
+	}
+
+	/**
+	 * Wraps a suggestion provider so its suggestions are limited for an argument
+	 *
+	 * @param <Source>  the command source type
+	 * @param argument  the argument the suggestions are for
+	 * @param provider  the suggestion provider, which may be null
+	 * @return a suggestion provider with the argument's limits applied, or the
+	 *         original provider if the argument doesn't have any limits
+	 */
+	static <Source> SuggestionProvider<Source> apply(Argument<?> argument, SuggestionProvider<Source> provider) {
+		InternalConfig config = CommandAPI.getConfiguration();
+		int maxSuggestions = argument.getMaxSuggestions() < 0 ? config.getMaxSuggestions() : argument.getMaxSuggestions();
+		int maxTooltipBytes = argument.getMaxSuggestionTooltipBytes() < 0 ? config.getMaxSuggestionTooltipBytes()
+				: argument.getMaxSuggestionTooltipBytes();
+		Comparator<Suggestion> comparator = argument.getSuggestionComparator();
+		if (provider == null || (maxSuggestions <= 0 && maxTooltipBytes <= 0 && comparator == null)) {
+			return provider;
+		}
+		return (context, builder) -> provider.getSuggestions(context, builder)
+				.thenApply(suggestions -> limit(suggestions, maxSuggestions, maxTooltipBytes, comparator));
+	}
+
+	/**
+	 * Limits a set of suggestions
+	 *
+	 * @param suggestions     the suggestions
+	 * @param maxSuggestions  the maximum number of suggestions, or 0 for no
+	 *                        maximum
+	 * @param maxTooltipBytes the maximum total size of the tooltips in bytes of
+	 *                        UTF-8 text, or 0 for no maximum
+	 * @param comparator      the order to choose suggestions in, or null to keep
+	 *                        the first suggestions
+	 * @return the limited suggestions
+	 */
+	static Suggestions limit(Suggestions suggestions, int maxSuggestions, int maxTooltipBytes,
+			Comparator<Suggestion> comparator) {
+		List<Suggestion> list = suggestions.getList();
+		boolean truncate = maxSuggestions > 0 && list.size() > maxSuggestions;
+		if (!truncate && maxTooltipBytes <= 0 && comparator == null) {
+			return suggestions;
+		}
+
+		List<Suggestion> limited;
+		if (comparator == null) {
+			limited = new ArrayList<>(truncate ? list.subList(0, maxSuggestions) : list);
+		} else if (truncate) {
+			limited = best(list, maxSuggestions, comparator);
+		} else {
+			limited = new ArrayList<>(list);
+			limited.sort(comparator);
+		}
+
+		if (maxTooltipBytes > 0) {
+			int tooltipBytes = 0;
+			for (int i = 0; i < limited.size(); i++) {
+				Suggestion suggestion = limited.get(i);
+				if (suggestion.getTooltip() == null) {
+					continue;
+				}
+				// Once the limit is reached, the rest of the tooltips are left out
+				if (tooltipBytes <= maxTooltipBytes) {
+					tooltipBytes += utf8Length(suggestion.getTooltip().getString());
+				}
+				if (tooltipBytes > maxTooltipBytes) {
+					limited.set(i, new Suggestion(suggestion.getRange(), suggestion.getText()));
+				}
+			}
+		}
+		return new Suggestions(suggestions.getRange(), limited);
+	}
+
+	/**
+	 * Returns the first count suggestions according to a comparator, in that
+	 * order. This only keeps count suggestions at a time, instead of sorting
+	 * every suggestion
+	 */
+	private static List<Suggestion> best(List<Suggestion> suggestions, int count, Comparator<Suggestion> comparator) {
+		// The worst suggestion kept so far is at the head of the queue
+		PriorityQueue<Suggestion> best = new PriorityQueue<>(count + 1, comparator.reversed());
+		for (Suggestion suggestion : suggestions) {
+			if (best.size() < count) {
+				best.add(suggestion);
+			} else if (comparator.compare(suggestion, best.peek()) < 0) {
+				best.poll();
+				best.add(suggestion);
+			}
+		}
+		List<Suggestion> result = new ArrayList<>(best);
+		result.sort(comparator);
+		return result;
+	}
+
+	private static int utf8Length(String string) {
+		int length = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				// The low surrogate is counted as part of this character
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+}
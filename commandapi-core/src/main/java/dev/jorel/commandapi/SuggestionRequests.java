@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2018, 2021 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * Tracks the suggestion request each player is waiting for. Players send a new
+ * suggestion request every time they press a key, so when a request arrives for
+ * the same command with different input, the player's previous request is out
+ * of date. Its cancellation signal (see {@link SuggestionInfo#cancellation()})
+ * is completed so slow suggestions can stop early, and its unfinished
+ * suggestions are cancelled so they're never sent. Suggestions are computed off
+ * the main thread, so this is safe to use from any thread.
+ */
+final class SuggestionRequests {
+
+	private final Map<UUID, Request> requests;
+
+	SuggestionRequests() {
+		this.requests = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * Gets the cancellation signal for a suggestion request. Brigadier can ask for
+	 * suggestions from several arguments for one request, which all share the same
+	 * input and therefore the same signal
+	 *
+	 * @param sender the sender requesting suggestions
+	 * @param input  the sender's input
+	 * @return a future which is completed when the request is out of date
+	 */
+	CompletableFuture<Void> begin(CommandSender sender, String input) {
+		if (!(sender instanceof Player player)) {
+			return new CompletableFuture<>();
+		}
+
+		String command = commandName(input);
+		return requests.compute(player.getUniqueId(), (uuid, previous) -> {
+			if (previous != null && previous.input().equals(input)) {
+				return previous;
+			}
+			if (previous != null && previous.command().equals(command)) {
+				previous.cancellation().complete(null);
+			}
+			return new Request(command, input, new CompletableFuture<>());
+		}).cancellation();
+	}
+
+	/**
+	 * Cancels a future of suggestions when the request it belongs to is out of
+	 * date
+	 *
+	 * @param <T>          the type of the future's result
+	 * @param cancellation the cancellation signal of the request
+	 * @param future       the suggestions for the request
+	 * @return the future
+	 */
+	<T> CompletableFuture<T> track(CompletableFuture<Void> cancellation, CompletableFuture<T> future) {
+		if (!future.isDone()) {
+			cancellation.thenRun(() -> future.cancel(false));
+		}
+		return future;
+	}
+
+	/**
+	 * Forgets a player's request, cancelling it if it's unfinished
+	 *
+	 * @param player the player
+	 */
+	void forget(Player player) {
+		Request request = requests.remove(player.getUniqueId());
+		if (request != null) {
+			request.cancellation().complete(null);
+		}
+	}
+
+	private static String commandName(String input) {
+		int start = input.startsWith("/") ? 1 : 0;
+		int end = input.indexOf(' ', start);
+		return end == -1 ? input.substring(start) : input.substring(start, end);
+	}
+
+	private record Request(String command, String input, CompletableFuture<Void> cancellation) {
+	}
+
+}
@@ -21,6 +21,7 @@
 package dev.jorel.commandapi.arguments;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -32,9 +33,11 @@ import org.bukkit.command.CommandSender;
 import com.mojang.brigadier.arguments.ArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestion;
 
 import dev.jorel.commandapi.CommandPermission;
 import dev.jorel.commandapi.IStringTooltip;
+import dev.jorel.commandapi.LazyArgument;
 import dev.jorel.commandapi.SuggestionInfo;
 import dev.jorel.commandapi.nms.NMS;
 
@@ -218,6 +221,78 @@ public abstract class Argument<T> extends ArgumentTree {
 		return suggestions;
 	}
 
+	///////////////////////
+	// Suggestion limits //
+	///////////////////////
+
+	private int maxSuggestions = -1;
+	private int maxSuggestionTooltipBytes = -1;
+	private Comparator<Suggestion> suggestionComparator = null;
+
+	/**
+	 * Returns the maximum number of suggestions sent for this argument
+	 * @return the maximum number of suggestions, 0 if every suggestion is sent, or -1 if the max-suggestions config
+	 * option is used
+	 */
+	public int getMaxSuggestions() {
+		return this.maxSuggestions;
+	}
+
+	/**
+	 * Sets the maximum number of suggestions sent for this argument, overriding the max-suggestions config option.
+	 * Only the first suggestions, or the best suggestions according to
+	 * {@link #setSuggestionComparator(Comparator)}, are sent
+	 * @param maxSuggestions the maximum number of suggestions, 0 to send every suggestion, or -1 to use the
+	 * max-suggestions config option
+	 * @return this current argument
+	 */
+	public Argument<T> setMaxSuggestions(int maxSuggestions) {
+		this.maxSuggestions = maxSuggestions;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum total size of the tooltips sent for this argument's suggestions
+	 * @return the maximum size in bytes, 0 if every tooltip is sent, or -1 if the max-suggestion-tooltip-bytes config
+	 * option is used
+	 */
+	public int getMaxSuggestionTooltipBytes() {
+		return this.maxSuggestionTooltipBytes;
+	}
+
+	/**
+	 * Sets the maximum total size of the tooltips sent for this argument's suggestions, overriding the
+	 * max-suggestion-tooltip-bytes config option. Suggestions after this size is reached are sent without their
+	 * tooltips
+	 * @param bytes the maximum size in bytes of UTF-8 text, 0 to send every tooltip, or -1 to use the
+	 * max-suggestion-tooltip-bytes config option
+	 * @return this current argument
+	 */
+	public Argument<T> setMaxSuggestionTooltipBytes(int bytes) {
+		this.maxSuggestionTooltipBytes = bytes;
+		return this;
+	}
+
+	/**
+	 * Returns the comparator used to choose which suggestions are sent when there are more than the maximum number of
+	 * suggestions
+	 * @return the comparator, or null if the first suggestions are sent
+	 */
+	public Comparator<Suggestion> getSuggestionComparator() {
+		return this.suggestionComparator;
+	}
+
+	/**
+	 * Sets the comparator used to choose which suggestions are sent when there are more than the maximum number of
+	 * suggestions. The suggestions which come first according to the comparator are sent, in that order
+	 * @param comparator the comparator, or null to send the first suggestions
+	 * @return this current argument
+	 */
+	public Argument<T> setSuggestionComparator(Comparator<Suggestion> comparator) {
+		this.suggestionComparator = comparator;
+		return this;
+	}
+
 	/////////////////
 	// Permissions //
 	/////////////////
@@ -305,6 +380,35 @@ public abstract class Argument<T> extends ArgumentTree {
 		return this;
 	}
 	
+	//////////////
+	// Laziness //
+	//////////////
+
+	private boolean isLazy = false;
+
+	/**
+	 * Returns true if this argument is only parsed when the command executor
+	 * requests its value
+	 * @return true if this argument is given to the command executor as a {@link LazyArgument}
+	 */
+	public boolean isLazy() {
+		return this.isLazy;
+	}
+
+	/**
+	 * Sets whether this argument should only be parsed when the command executor
+	 * requests its value. Lazy arguments are given to the command executor as a
+	 * {@link LazyArgument}, which parses the argument the first time
+	 * {@link LazyArgument#get()} is called. This has no effect on literal
+	 * arguments
+	 * @param lazy if true, this argument will be given to the command executor as a {@link LazyArgument}
+	 * @return this current argument
+	 */
+	public Argument<T> setLazy(boolean lazy) {
+		this.isLazy = lazy;
+		return this;
+	}
+
 	///////////
 	// Other //
 	///////////
@@ -4,8 +4,10 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import dev.jorel.commandapi.IStringTooltip;
+import dev.jorel.commandapi.StringTooltip;
 import dev.jorel.commandapi.SuggestionInfo;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
@@ -181,6 +183,76 @@ public interface ArgumentSuggestions {
 			.thenApply(stringsWithTooltips -> suggestionsFromTooltips(builder, stringsWithTooltips));
 	}
 
+	/**
+	 * Suggest a large, fixed collection of strings. The strings are sorted when this is called, so the strings
+	 * matching what has been typed are found without checking every string. Matching is case-insensitive
+	 *
+	 * @param suggestions collection of strings. Changes to the collection after this is called are not suggested
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings
+	 */
+	static ArgumentSuggestions indexedStrings(Collection<String> suggestions) {
+		return indexedStrings(suggestions, 0);
+	}
+
+	/**
+	 * Suggest a large, fixed collection of strings. The strings are sorted when this is called, so the strings
+	 * matching what has been typed are found without checking every string. Matching is case-insensitive
+	 *
+	 * @param suggestions collection of strings. Changes to the collection after this is called are not suggested
+	 * @param limit the maximum number of strings to suggest, in alphabetical order. If this is 0, every matching
+	 *              string is suggested
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings
+	 */
+	static ArgumentSuggestions indexedStrings(Collection<String> suggestions, int limit) {
+		return new IndexedSuggestions(StringTooltip.none(suggestions).toArray(new IStringTooltip[0]), limit);
+	}
+
+	/**
+	 * Suggest a large, fixed collection of strings with tooltips. The strings are sorted when this is called, so the
+	 * strings matching what has been typed are found without checking every string. Matching is case-insensitive
+	 *
+	 * @param suggestions collection of strings with tooltips. Changes to the collection after this is called are not
+	 *                    suggested
+	 * @param limit the maximum number of strings to suggest, in alphabetical order. If this is 0, every matching
+	 *              string is suggested
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings with tooltips
+	 */
+	static ArgumentSuggestions indexedStringsWithTooltips(Collection<IStringTooltip> suggestions, int limit) {
+		return new IndexedSuggestions(suggestions.toArray(new IStringTooltip[0]), limit);
+	}
+
+	/**
+	 * Suggest a fixed collection of strings, including strings which are close to what has been typed, so mistyped
+	 * names are still suggested. The strings are indexed when this is called. Strings starting with what has been typed
+	 * are suggested first, followed by strings needing more changes. Matching is case-insensitive
+	 *
+	 * @param suggestions collection of strings. Changes to the collection after this is called are not suggested
+	 * @param limit the maximum number of strings to suggest. This must be greater than 0
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings closest to what has been typed
+	 */
+	static ArgumentSuggestions fuzzy(Collection<String> suggestions, int limit) {
+		return new FuzzySuggestions(StringTooltip.none(suggestions).toArray(new IStringTooltip[0]), limit);
+	}
+
+	/**
+	 * Suggest a fixed collection of strings with tooltips, including strings which are close to what has been typed,
+	 * so mistyped names are still suggested. The strings are indexed when this is called. Strings starting with what
+	 * has been typed are suggested first, followed by strings needing more changes. Matching is case-insensitive
+	 *
+	 * @param suggestions collection of strings with tooltips. Changes to the collection after this is called are not
+	 *                    suggested
+	 * @param limit the maximum number of strings to suggest. This must be greater than 0
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings with tooltips closest to what has been typed
+	 */
+	static ArgumentSuggestions fuzzyWithTooltips(Collection<IStringTooltip> suggestions, int limit) {
+		return new FuzzySuggestions(suggestions.toArray(new IStringTooltip[0]), limit);
+	}
+
 	/**
 	 * Merge suggestions from multiple {@link ArgumentSuggestions} together
 	 * @param suggestions The {@link ArgumentSuggestions} to be merged
@@ -195,6 +267,67 @@ public interface ArgumentSuggestions {
 		};
 	}
 
+	/**
+	 * What the suggestions of a {@link ArgumentSuggestions#cached} {@link ArgumentSuggestions} are remembered for
+	 */
+	enum CacheKey {
+		/**
+		 * The same suggestions are used for everyone
+		 */
+		GLOBAL,
+
+		/**
+		 * Suggestions are remembered separately for each command sender. Entities (including players) are told apart
+		 * by their UUID, and other senders (such as the console) by their type and name
+		 */
+		SENDER,
+
+		/**
+		 * Suggestions are remembered separately for each combination of previous arguments. Command senders and
+		 * other entities are compared by their UUID (and worlds by their UID), so remembered suggestions don't keep
+		 * them alive. Any other previous argument must implement {@code equals} and {@code hashCode}, otherwise
+		 * suggestions are only reused for the very same parsed value, and it's kept alive until the suggestions
+		 * expire
+		 */
+		PREVIOUS_ARGUMENTS
+	}
+
+	/**
+	 * Remember the suggestions of another {@link ArgumentSuggestions} for a period of time. The suggestions are
+	 * computed as if nothing had been typed for the argument, and are then filtered for what the sender has typed, so
+	 * the same suggestions are reused while a player types. At most 1000 sets of suggestions are remembered
+	 *
+	 * @param suggestions the suggestions to remember
+	 * @param ttl how long suggestions are remembered for
+	 * @param cacheKey what suggestions are remembered for
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the remembered suggestions
+	 */
+	static ArgumentSuggestions cached(ArgumentSuggestions suggestions, Duration ttl, CacheKey cacheKey) {
+		return cached(suggestions, ttl, cacheKey, 1000, false);
+	}
+
+	/**
+	 * Remember the suggestions of another {@link ArgumentSuggestions} for a period of time. The suggestions are
+	 * computed as if nothing had been typed for the argument, and are then filtered for what the sender has typed, so
+	 * the same suggestions are reused while a player types
+	 *
+	 * @param suggestions the suggestions to remember
+	 * @param ttl how long suggestions are remembered for
+	 * @param cacheKey what suggestions are remembered for
+	 * @param maximumSize the maximum number of sets of suggestions to remember. The least recently used suggestions
+	 *                    are forgotten first
+	 * @param refreshAhead if true, suggestions which are more than halfway through their ttl are recomputed in the
+	 *                     background while the remembered suggestions are still used. This works best with
+	 *                     asynchronous suggestions, such as {@link ArgumentSuggestions#stringsAsync(Function)}
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the remembered suggestions
+	 */
+	static ArgumentSuggestions cached(ArgumentSuggestions suggestions, Duration ttl, CacheKey cacheKey, int maximumSize,
+			boolean refreshAhead) {
+		return new CachedSuggestions(suggestions, ttl, cacheKey, maximumSize, refreshAhead);
+	}
+
 	/**
 	 * Convert an array of strings into a brigadier {@link Suggestions} object
 	 *
@@ -204,8 +337,9 @@ public interface ArgumentSuggestions {
 	 * @return a brigadier {@link Suggestions} object suggesting the array of strings
 	 */
 	private static Suggestions suggestionsFromStrings(SuggestionsBuilder builder, String... suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(String suggestion : suggestions) {
-			if(shouldSuggest(builder, suggestion)) {
+			if(shouldSuggest(remaining, suggestion)) {
 				builder.suggest(suggestion);
 			}
 		}
@@ -221,8 +355,9 @@ public interface ArgumentSuggestions {
 	 * @return a brigadier {@link Suggestions} object suggesting the collection of strings
 	 */
 	private static Suggestions suggestionsFromStrings(SuggestionsBuilder builder, Collection<String> suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(String suggestion : suggestions) {
-			if(shouldSuggest(builder, suggestion)) {
+			if(shouldSuggest(remaining, suggestion)) {
 				builder.suggest(suggestion);
 			}
 		}
@@ -238,8 +373,9 @@ public interface ArgumentSuggestions {
 	 * @return a brigadier {@link Suggestions} object suggesting the array of strings with tooltips
 	 */
 	private static Suggestions suggestionsFromTooltips(SuggestionsBuilder builder, IStringTooltip... suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(IStringTooltip suggestion : suggestions) {
-			processSuggestion(builder, suggestion);
+			processSuggestion(builder, remaining, suggestion);
 		}
 		return builder.build();
 	}
@@ -253,14 +389,15 @@ public interface ArgumentSuggestions {
 	 * @return a brigadier {@link Suggestions} object suggesting the collection of strings with tooltips
 	 */
 	private static Suggestions suggestionsFromTooltips(SuggestionsBuilder builder, Collection<IStringTooltip> suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(IStringTooltip suggestion : suggestions) {
-			processSuggestion(builder, suggestion);
+			processSuggestion(builder, remaining, suggestion);
 		}
 		return builder.build();
 	}
 
-	private static void processSuggestion(SuggestionsBuilder builder, IStringTooltip suggestion) {
-		if(!shouldSuggest(builder, suggestion.getSuggestion())) {
+	private static void processSuggestion(SuggestionsBuilder builder, String remaining, IStringTooltip suggestion) {
+		if(!shouldSuggest(remaining, suggestion.getSuggestion())) {
 			return;
 		}
 
@@ -274,13 +411,13 @@ public interface ArgumentSuggestions {
 	/**
 	 * Returns whether the typed text should be suggested by the current suggestion
 	 *
-	 * @param builder SuggestionsBuilder object
+	 * @param remaining the typed text in lowercase, which is only computed once for all suggestions
 	 * @param suggestion string suggestion
 	 *
 	 * @return true if the current input is a prefix of the suggestion, false otherwise
 	 */
-	private static boolean shouldSuggest(SuggestionsBuilder builder, String suggestion) {
-		return suggestion.toLowerCase(Locale.ROOT).startsWith(builder.getRemaining().toLowerCase(Locale.ROOT));
+	private static boolean shouldSuggest(String remaining, String suggestion) {
+		return suggestion.toLowerCase(Locale.ROOT).startsWith(remaining);
 	}
 
 	/**
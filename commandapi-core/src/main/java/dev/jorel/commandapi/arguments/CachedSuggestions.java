@@ -0,0 +1,189 @@
+package dev.jorel.commandapi.arguments;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.SuggestionInfo;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link ArgumentSuggestions} which remembers the suggestions of another {@link ArgumentSuggestions}. Suggestions
+ * are computed as if the argument was empty, and then filtered for what has been typed, so one computation can be
+ * reused while a player types. Created using {@link ArgumentSuggestions#cached(ArgumentSuggestions, Duration,
+ * ArgumentSuggestions.CacheKey, int, boolean)}.
+ */
+final class CachedSuggestions implements ArgumentSuggestions {
+
+	private static final Object GLOBAL_KEY = new Object();
+
+	private final ArgumentSuggestions suggestions;
+	private final long ttlNanos;
+	private final CacheKey cacheKey;
+	private final boolean refreshAhead;
+
+	// Least recently used first. Suggestions can be computed on any thread, so
+	// this must be synchronized on
+	private final Map<Object, Entry> entries;
+
+	CachedSuggestions(ArgumentSuggestions suggestions, Duration ttl, CacheKey cacheKey, int maximumSize, boolean refreshAhead) {
+		this.suggestions = suggestions;
+		this.ttlNanos = ttl.toNanos();
+		this.cacheKey = cacheKey;
+		this.refreshAhead = refreshAhead;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+				return size() > maximumSize;
+			}
+		};
+	}
+
+	@Override
+	public CompletableFuture<Suggestions> suggest(SuggestionInfo info, SuggestionsBuilder builder) throws CommandSyntaxException {
+		Object key = switch (cacheKey) {
+			case GLOBAL -> GLOBAL_KEY;
+			// Senders aren't used as keys directly, so remembered suggestions don't keep them alive
+			case SENDER -> SenderKey.of(info.sender());
+			case PREVIOUS_ARGUMENTS -> stableKey(info.previousArgs());
+		};
+
+		long now = System.nanoTime();
+		Entry entry;
+		boolean miss = false;
+		boolean refresh = false;
+		synchronized (entries) {
+			entry = entries.get(key);
+			if (entry == null || now - entry.createdAt >= ttlNanos) {
+				// Store an entry straight away, so requests which arrive before the
+				// suggestions have been computed wait for them instead of computing
+				// them again
+				entry = new Entry(new CompletableFuture<>(), now);
+				entries.put(key, entry);
+				miss = true;
+			} else if (refreshAhead && !entry.refreshing && now - entry.createdAt >= ttlNanos / 2) {
+				entry.refreshing = true;
+				refresh = true;
+			}
+		}
+
+		if (miss) {
+			Entry newEntry = entry;
+			CompletableFuture<List<Suggestion>> computed;
+			try {
+				computed = computeAll(info, builder);
+			} catch (CommandSyntaxException | RuntimeException e) {
+				computed = CompletableFuture.failedFuture(e);
+			}
+			computed.whenComplete((result, throwable) -> {
+				if (throwable != null) {
+					synchronized (entries) {
+						entries.remove(key, newEntry);
+					}
+					newEntry.suggestions.completeExceptionally(throwable);
+				} else {
+					newEntry.suggestions.complete(result);
+				}
+			});
+		} else if (refresh) {
+			// Keep serving the current suggestions until the new ones are ready
+			refresh(key, entry, info, builder);
+		}
+
+		return entry.suggestions.thenApply(cached -> filter(cached, builder));
+	}
+
+	private void refresh(Object key, Entry entry, SuggestionInfo info, SuggestionsBuilder builder) {
+		CompletableFuture<List<Suggestion>> refreshed;
+		try {
+			refreshed = computeAll(info, builder);
+		} catch (CommandSyntaxException | RuntimeException e) {
+			synchronized (entries) {
+				entry.refreshing = false;
+			}
+			return;
+		}
+		refreshed.whenComplete((result, throwable) -> {
+			synchronized (entries) {
+				if (throwable == null) {
+					entries.put(key, new Entry(refreshed, System.nanoTime()));
+				} else {
+					entry.refreshing = false;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Gets a key for previous arguments which doesn't keep the senders, entities
+	 * and worlds in them alive
+	 */
+	private static List<Object> stableKey(Object[] previousArgs) {
+		List<Object> key = new ArrayList<>(previousArgs.length);
+		for (Object previousArg : previousArgs) {
+			key.add(stableKey(previousArg));
+		}
+		return key;
+	}
+
+	private static Object stableKey(Object previousArg) {
+		if (previousArg instanceof CommandSender sender) {
+			return SenderKey.of(sender);
+		} else if (previousArg instanceof OfflinePlayer player) {
+			return player.getUniqueId();
+		} else if (previousArg instanceof World world) {
+			return world.getUID();
+		} else if (previousArg instanceof Collection<?> collection) {
+			// Such as the entities of an entity selector
+			List<Object> key = new ArrayList<>(collection.size());
+			for (Object element : collection) {
+				key.add(stableKey(element));
+			}
+			return key;
+		} else {
+			return previousArg;
+		}
+	}
+
+	/**
+	 * Computes every suggestion, as if nothing had been typed for the argument
+	 */
+	private CompletableFuture<List<Suggestion>> computeAll(SuggestionInfo info, SuggestionsBuilder builder) throws CommandSyntaxException {
+		String input = builder.getInput().substring(0, builder.getStart());
+		SuggestionInfo emptyInfo = new SuggestionInfo(info.sender(), info.previousArgs(), input, "");
+		return suggestions.suggest(emptyInfo, new SuggestionsBuilder(input, builder.getStart())).thenApply(Suggestions::getList);
+	}
+
+	private static Suggestions filter(List<Suggestion> cached, SuggestionsBuilder builder) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
+		for (Suggestion suggestion : cached) {
+			if (suggestion.getText().toLowerCase(Locale.ROOT).startsWith(remaining)) {
+				builder.suggest(suggestion.getText(), suggestion.getTooltip());
+			}
+		}
+		return builder.build();
+	}
+
+	private static final class Entry {
+		final CompletableFuture<List<Suggestion>> suggestions;
+		final long createdAt;
+		boolean refreshing; // Guarded by entries
+
+		Entry(CompletableFuture<List<Suggestion>> suggestions, long createdAt) {
+			this.suggestions = suggestions;
+			this.createdAt = createdAt;
+		}
+	}
+
+}
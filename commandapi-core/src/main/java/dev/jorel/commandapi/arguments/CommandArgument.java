@@ -40,7 +40,7 @@ public class CommandArgument extends Argument<CommandResult> implements IGreedyA
 				// Suggesting command name
 				ArgumentSuggestions replacement = replacements.getNextSuggestion(sender);
 				if (replacement != null) {
-					return replacement.suggest(new SuggestionInfo(sender, new Object[0], command, command), builder);
+					return replacement.suggest(new SuggestionInfo(sender, new Object[0], command, command, info.cancellation()), builder);
 				}
 
 				List<String> results = commandMap.tabComplete(sender, command);
@@ -86,7 +86,7 @@ public class CommandArgument extends Argument<CommandResult> implements IGreedyA
 			String[] previousArguments = Arrays.copyOf(arguments, lastIndex);
 			ArgumentSuggestions replacement = replacements.getNextSuggestion(sender, previousArguments);
 			if (replacement != null) {
-				return replacement.suggest(new SuggestionInfo(sender, previousArguments, command, arguments[lastIndex]), builder);
+				return replacement.suggest(new SuggestionInfo(sender, previousArguments, command, arguments[lastIndex], info.cancellation()), builder);
 			}
 
 			// Remove command name from arguments for normal tab-completion
@@ -0,0 +1,297 @@
+package dev.jorel.commandapi.arguments;
+
+import com.mojang.brigadier.Message;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.IStringTooltip;
+import dev.jorel.commandapi.SuggestionInfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link ArgumentSuggestions} for a fixed set of strings which also suggests strings that are close to what has
+ * been typed, so mistyped names still have suggestions. Created using
+ * {@link ArgumentSuggestions#fuzzy(java.util.Collection, int)} and
+ * {@link ArgumentSuggestions#fuzzyWithTooltips(java.util.Collection, int)}.
+ * <p>
+ * Strings which start with exactly what has been typed are found with a binary search, and if there are enough of
+ * them, nothing else is considered. Otherwise, every pair of adjacent characters (bigram) is indexed with the strings
+ * that contain it when this is created. A string which starts with a few typos of what has been typed must still
+ * share most of its bigrams, so only the strings sharing enough bigrams are considered, and only a bounded number of
+ * those are scored with an edit distance.
+ */
+final class FuzzySuggestions implements ArgumentSuggestions {
+
+	// Marks the start of a string, so strings which start with the typed text share more bigrams
+	private static final char START = '\0';
+
+	// How many candidates are scored for each suggestion that can be returned
+	private static final int CANDIDATES_PER_SUGGESTION = 8;
+
+	private final String[] keys; // Lowercase, sorted
+	private final String[] texts;
+	private final Message[] tooltips;
+	private final Map<Integer, int[]> postings; // Bigram -> indexes of the keys containing it, ascending
+	private final int limit;
+
+	// Suggestions can be requested from several threads at once, so each thread counts shared bigrams in its own
+	// array. Only the counts which were changed are reset afterwards
+	private final ThreadLocal<Counts> counts;
+
+	FuzzySuggestions(IStringTooltip[] suggestions, int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("The limit of fuzzy suggestions must be greater than 0");
+		}
+
+		String[] lowercase = new String[suggestions.length];
+		Integer[] order = new Integer[suggestions.length];
+		for (int i = 0; i < suggestions.length; i++) {
+			lowercase[i] = suggestions[i].getSuggestion().toLowerCase(Locale.ROOT);
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparing(i -> lowercase[i]));
+
+		this.keys = new String[suggestions.length];
+		this.texts = new String[suggestions.length];
+		this.tooltips = new Message[suggestions.length];
+		Map<Integer, IntList> lists = new HashMap<>();
+		for (int i = 0; i < suggestions.length; i++) {
+			keys[i] = lowercase[order[i]];
+			texts[i] = suggestions[order[i]].getSuggestion();
+			tooltips[i] = suggestions[order[i]].getTooltip();
+			for (int bigram : bigrams(keys[i])) {
+				lists.computeIfAbsent(bigram, b -> new IntList()).addDistinct(i);
+			}
+		}
+
+		this.postings = new HashMap<>();
+		lists.forEach((bigram, list) -> postings.put(bigram, list.toArray()));
+		this.limit = limit;
+		this.counts = ThreadLocal.withInitial(() -> new Counts(keys.length));
+	}
+
+	@Override
+	public CompletableFuture<Suggestions> suggest(SuggestionInfo info, SuggestionsBuilder builder) {
+		String remaining = builder.getRemaining();
+		String query = remaining.toLowerCase(Locale.ROOT);
+
+		// Keys which start with the query are closest, and are already sorted alphabetically. If there are enough of
+		// them, there's no need to look for keys with typos
+		int start = lowerBound(query);
+		int suggestedPrefixes = 0;
+		for (int id = start; id < keys.length && keys[id].startsWith(query) && suggestedPrefixes < limit; id++) {
+			// Brigadier doesn't suggest what has already been typed
+			if (!texts[id].equals(remaining)) {
+				suggestedPrefixes++;
+			}
+		}
+		if (query.isEmpty() || suggestedPrefixes == limit) {
+			int suggested = 0;
+			for (int id = start; id < keys.length && keys[id].startsWith(query) && suggested < limit; id++) {
+				if (!texts[id].equals(remaining)) {
+					builder.suggest(texts[id], tooltips[id]);
+					suggested++;
+				}
+			}
+			return builder.buildFuture();
+		}
+
+		// Find the keys which share enough bigrams with the query to be within maxErrors edits. Each edit changes
+		// at most two of the query's bigrams. Keys which share no bigrams at all are never suggested
+		int maxErrors = maxErrors(query.length());
+		int[] queryBigrams = bigrams(query);
+		int threshold = Math.max(1, queryBigrams.length - 2 * maxErrors);
+		Counts counts = this.counts.get();
+		int[] shared = counts.shared;
+		IntList touched = counts.touched;
+		IntList candidates = new IntList();
+		long[] ranked;
+		try {
+			for (int bigram : queryBigrams) {
+				int[] ids = postings.get(bigram);
+				if (ids == null) {
+					continue;
+				}
+				for (int id : ids) {
+					if (shared[id] == 0) {
+						touched.add(id);
+					}
+					if (++shared[id] == threshold) {
+						candidates.add(id);
+					}
+				}
+			}
+
+			ranked = new long[candidates.size];
+			for (int i = 0; i < candidates.size; i++) {
+				int id = candidates.values[i];
+				ranked[i] = ((long) (queryBigrams.length - shared[id]) << 32) | id;
+			}
+		} finally {
+			for (int i = 0; i < touched.size; i++) {
+				shared[touched.values[i]] = 0;
+			}
+			touched.size = 0;
+		}
+
+		// Only score the candidates sharing the most bigrams, then alphabetically
+		int maxScored = (int) Math.min((long) limit * CANDIDATES_PER_SUGGESTION, Integer.MAX_VALUE);
+		if (ranked.length > maxScored) {
+			Arrays.sort(ranked);
+		}
+
+		int scoredCount = Math.min(ranked.length, maxScored);
+		long[] scored = new long[scoredCount];
+		int matches = 0;
+		for (int i = 0; i < scoredCount; i++) {
+			int id = (int) ranked[i];
+			int distance = prefixDistance(query, keys[id], maxErrors);
+			if (distance <= maxErrors) {
+				scored[matches++] = ((long) distance << 32) | id;
+			}
+		}
+
+		// Closest first, then alphabetically
+		Arrays.sort(scored, 0, matches);
+		int suggested = 0;
+		for (int i = 0; i < matches && suggested < limit; i++) {
+			int id = (int) scored[i];
+			// Brigadier doesn't suggest what has already been typed
+			if (!texts[id].equals(remaining)) {
+				builder.suggest(texts[id], tooltips[id]);
+				suggested++;
+			}
+		}
+		return builder.buildFuture();
+	}
+
+	/**
+	 * Returns the index of the first key which is not less than the query
+	 */
+	private int lowerBound(String query) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(query) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns how many typos are allowed in a query. Short queries don't allow any, otherwise almost everything would
+	 * be suggested
+	 */
+	private static int maxErrors(int queryLength) {
+		if (queryLength <= 2) {
+			return 0;
+		} else if (queryLength <= 5) {
+			return 1;
+		} else {
+			return 2;
+		}
+	}
+
+	/**
+	 * Returns the distinct bigrams of a string, starting with the start marker and its first character
+	 */
+	private static int[] bigrams(String string) {
+		IntList bigrams = new IntList();
+		char previous = START;
+		for (int i = 0; i < string.length(); i++) {
+			char current = string.charAt(i);
+			int bigram = (previous << 16) | current;
+			if (!bigrams.contains(bigram)) {
+				bigrams.add(bigram);
+			}
+			previous = current;
+		}
+		return bigrams.toArray();
+	}
+
+	/**
+	 * Returns the smallest number of insertions, deletions and substitutions needed to turn the query into a prefix of
+	 * the key, or maxErrors + 1 if that is more than maxErrors
+	 */
+	private static int prefixDistance(String query, String key, int maxErrors) {
+		int[] previous = new int[key.length() + 1];
+		int[] current = new int[key.length() + 1];
+		for (int j = 0; j <= key.length(); j++) {
+			previous[j] = j;
+		}
+
+		for (int i = 1; i <= query.length(); i++) {
+			current[0] = i;
+			int rowMinimum = i;
+			for (int j = 1; j <= key.length(); j++) {
+				int substitution = previous[j - 1] + (query.charAt(i - 1) == key.charAt(j - 1) ? 0 : 1);
+				current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+				rowMinimum = Math.min(rowMinimum, current[j]);
+			}
+			if (rowMinimum > maxErrors) {
+				return maxErrors + 1;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+
+		// The rest of the key after the prefix is free
+		int distance = maxErrors + 1;
+		for (int value : previous) {
+			distance = Math.min(distance, value);
+		}
+		return distance;
+	}
+
+	private static final class Counts {
+		final int[] shared; // How many bigrams each key shares with the query
+		final IntList touched = new IntList(); // The keys whose count isn't 0
+
+		Counts(int keys) {
+			this.shared = new int[keys];
+		}
+	}
+
+	private static final class IntList {
+		int[] values = new int[8];
+		int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		// Values are added in ascending order, so a repeated value is always the last one
+		void addDistinct(int value) {
+			if (size == 0 || values[size - 1] != value) {
+				add(value);
+			}
+		}
+
+		boolean contains(int value) {
+			for (int i = 0; i < size; i++) {
+				if (values[i] == value) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package dev.jorel.commandapi.arguments;
+
+import com.mojang.brigadier.Message;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.IStringTooltip;
+import dev.jorel.commandapi.SuggestionInfo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link ArgumentSuggestions} for a fixed set of strings, sorted by their lowercase form when it is created. The
+ * strings which start with what has been typed are next to each other in the sorted array, so they are found with a
+ * binary search in O(log n + k) instead of checking every string. Created using
+ * {@link ArgumentSuggestions#indexedStrings(java.util.Collection, int)} and
+ * {@link ArgumentSuggestions#indexedStringsWithTooltips(java.util.Collection, int)}.
+ */
+final class IndexedSuggestions implements ArgumentSuggestions {
+
+	private final String[] keys; // Lowercase, sorted
+	private final String[] texts;
+	private final Message[] tooltips;
+	private final int limit;
+
+	IndexedSuggestions(IStringTooltip[] suggestions, int limit) {
+		String[] lowercase = new String[suggestions.length];
+		Integer[] order = new Integer[suggestions.length];
+		for (int i = 0; i < suggestions.length; i++) {
+			lowercase[i] = suggestions[i].getSuggestion().toLowerCase(Locale.ROOT);
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparing(i -> lowercase[i]));
+
+		this.keys = new String[suggestions.length];
+		this.texts = new String[suggestions.length];
+		this.tooltips = new Message[suggestions.length];
+		for (int i = 0; i < suggestions.length; i++) {
+			keys[i] = lowercase[order[i]];
+			texts[i] = suggestions[order[i]].getSuggestion();
+			tooltips[i] = suggestions[order[i]].getTooltip();
+		}
+		this.limit = limit <= 0 ? Integer.MAX_VALUE : limit;
+	}
+
+	@Override
+	public CompletableFuture<Suggestions> suggest(SuggestionInfo info, SuggestionsBuilder builder) {
+		String remaining = builder.getRemaining();
+		String prefix = remaining.toLowerCase(Locale.ROOT);
+		int suggested = 0;
+		for (int i = firstAtLeast(prefix); i < keys.length && suggested < limit && keys[i].startsWith(prefix); i++) {
+			// Brigadier doesn't suggest what has already been typed
+			if (!texts[i].equals(remaining)) {
+				builder.suggest(texts[i], tooltips[i]);
+				suggested++;
+			}
+		}
+		return builder.buildFuture();
+	}
+
+	// Returns the index of the first key which isn't less than the prefix
+	private int firstAtLeast(String prefix) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+}
@@ -23,6 +23,7 @@ package dev.jorel.commandapi.arguments;
 import dev.jorel.commandapi.IStringTooltip;
 import org.bukkit.command.CommandSender;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -33,7 +34,7 @@ import java.util.function.Function;
  */
 public class ListArgument<T> extends ListArgumentCommon<T> implements IGreedyArgument {
 
-	ListArgument(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper) {
-		super(nodeName, delimiter, allowDuplicates, supplier, suggestionsMapper, false);
+	ListArgument(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, Duration cacheDuration) {
+		super(nodeName, delimiter, allowDuplicates, supplier, suggestionsMapper, false, cacheDuration);
 	}
 }
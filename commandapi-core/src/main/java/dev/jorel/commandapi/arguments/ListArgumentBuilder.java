@@ -1,5 +1,6 @@
 package dev.jorel.commandapi.arguments;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
@@ -20,6 +21,7 @@ public class ListArgumentBuilder<T> {
 	private final String nodeName;
 	private final String delimiter;
 	private boolean allowDuplicates = false;
+	private Duration cacheDuration = null;
 
 	/**
 	 * Creates a new ListArgumentBuilder with a specified node name. Defaults the
@@ -55,6 +57,22 @@ public class ListArgumentBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Remember the values from the list for each command sender for a period of
+	 * time, instead of getting the list every time a player types or runs the
+	 * command. Use this if getting the list or mapping its values is expensive.
+	 * Remembered values can be forgotten early using
+	 * {@link ListArgumentCommon#invalidateCache()}. By default, values are not
+	 * remembered.
+	 * 
+	 * @param cacheDuration how long values are remembered for
+	 * @return this list argument builder
+	 */
+	public ListArgumentBuilder<T> cacheList(Duration cacheDuration) {
+		this.cacheDuration = cacheDuration;
+		return this;
+	}
+
 	/**
 	 * Specifies the list to use to generate suggestions for the list argument
 	 * 
@@ -172,7 +190,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListArgument}
 			 */
 			public ListArgument<T> buildGreedy() {
-				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheDuration);
 			}
 			
 			/**
@@ -181,7 +199,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListTextArgument}
 			 */
 			public ListTextArgument<T> buildText() {
-				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheDuration);
 			}
 		}
 	}
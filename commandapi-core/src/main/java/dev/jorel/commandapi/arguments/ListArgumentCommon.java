@@ -7,11 +7,12 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 import dev.jorel.commandapi.IStringTooltip;
-import dev.jorel.commandapi.StringTooltip;
 import dev.jorel.commandapi.nms.NMS;
 import org.bukkit.command.CommandSender;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
@@ -22,19 +23,29 @@ import java.util.regex.Pattern;
  */
 @SuppressWarnings("rawtypes")
 public class ListArgumentCommon<T> extends Argument<List> {
+
+	// Cached values are removed when more than this many senders have cached values
+	private static final int MAX_CACHED_SENDERS = 1024;
+
 	private final String delimiter;
+	private final Pattern delimiterPattern;
 	private final boolean allowDuplicates;
 	private final Function<CommandSender, Collection<T>> supplier;
 	private final Function<T, IStringTooltip> mapper;
 	private final boolean text;
+	private final long cacheMillis;
+	private final Map<SenderKey, Values<T>> cachedValues;
 
-	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean text) {
+	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean text, Duration cacheDuration) {
 		super(nodeName, text ? StringArgumentType.string() : StringArgumentType.greedyString());
 		this.delimiter = delimiter;
+		this.delimiterPattern = Pattern.compile(Pattern.quote(delimiter));
 		this.allowDuplicates = allowDuplicates;
 		this.supplier = supplier;
 		this.mapper = suggestionsMapper;
 		this.text = text;
+		this.cacheMillis = cacheDuration == null ? 0 : cacheDuration.toMillis();
+		this.cachedValues = new ConcurrentHashMap<>();
 
 		applySuggestions();
 	}
@@ -48,45 +59,25 @@ public class ListArgumentCommon<T> extends Argument<List> {
 				builder = builder.createOffset(builder.getStart() + 1);
 			}
 
-			// This need not be a sorted map because entries in suggestions are
-			// automatically sorted anyway
-			Set<IStringTooltip> values = new HashSet<>();
-			for (T object : supplier.apply(info.sender())) {
-				values.add(mapper.apply(object));
-			}
-
-			String[] splitArguments = currentArg.split(Pattern.quote(delimiter));
-			// If an argument is finished, suggest the delimiter
-			String lastArgument = splitArguments[splitArguments.length - 1];
-			if (!currentArg.endsWith(delimiter) && values.stream().map(IStringTooltip::getSuggestion).anyMatch(lastArgument::equals)) {
-				values.add(StringTooltip.none(lastArgument + delimiter));
-			}
-
-			if (!allowDuplicates) {
-				// Filter out values already given
-				for (String str : splitArguments) {
-					IStringTooltip valueToRemove = null;
-					for (IStringTooltip value : values) {
-						if (value.getSuggestion().equals(str)) {
-							valueToRemove = value;
-							break;
-						}
-					}
-					if (valueToRemove != null) {
-						values.remove(valueToRemove);
-					}
-				}
-			}
-
+			Map<String, IStringTooltip> values = getValues(info.sender()).tooltips();
+			String[] splitArguments = delimiterPattern.split(currentArg);
 
 			// Offset builder to just after the last argument
 			if (currentArg.contains(delimiter)) {
 				builder = builder.createOffset(builder.getStart() + currentArg.lastIndexOf(delimiter) + delimiter.length());
 			}
 
-			// 'values' is a set of all objects that need to be suggested
-			for (IStringTooltip str : values) {
-				if (str.getSuggestion().startsWith(builder.getRemaining())) {
+			// If an argument is finished, suggest the delimiter
+			String lastArgument = splitArguments[splitArguments.length - 1];
+			if (!currentArg.endsWith(delimiter) && values.containsKey(lastArgument)) {
+				builder.suggest(lastArgument + delimiter);
+			}
+
+			// Filter out values already given
+			Set<String> givenValues = allowDuplicates ? Set.of() : new HashSet<>(Arrays.asList(splitArguments));
+			String remaining = builder.getRemaining();
+			for (IStringTooltip str : values.values()) {
+				if (str.getSuggestion().startsWith(remaining) && !givenValues.contains(str.getSuggestion())) {
 					if (str.getTooltip() == null)
 						builder.suggest(str.getSuggestion());
 					else
@@ -98,6 +89,68 @@ public class ListArgumentCommon<T> extends Argument<List> {
 		});
 	}
 
+	/**
+	 * Forgets the values of this list argument remembered for every command
+	 * sender, so the next suggestion or parse gets the values from the list again.
+	 * This only has an effect if the list argument was built with
+	 * {@link ListArgumentBuilder#cacheList(Duration)}
+	 */
+	public void invalidateCache() {
+		cachedValues.clear();
+	}
+
+	/**
+	 * Forgets the values of this list argument remembered for a command sender,
+	 * so the next suggestion or parse for that sender gets the values from the
+	 * list again. This only has an effect if the list argument was built with
+	 * {@link ListArgumentBuilder#cacheList(Duration)}
+	 *
+	 * @param sender the command sender to forget the values for
+	 */
+	public void invalidateCache(CommandSender sender) {
+		cachedValues.remove(SenderKey.of(sender));
+	}
+
+	/**
+	 * Gets the values this list argument can take for a command sender, indexed by
+	 * their suggestion
+	 */
+	private Values<T> getValues(CommandSender sender) {
+		if (cacheMillis <= 0) {
+			return createValues(sender, 0);
+		}
+
+		long now = System.currentTimeMillis();
+		SenderKey key = SenderKey.of(sender);
+		Values<T> values = cachedValues.get(key);
+		if (values == null || values.expiry() <= now) {
+			if (cachedValues.size() >= MAX_CACHED_SENDERS) {
+				cachedValues.values().removeIf(oldValues -> oldValues.expiry() <= now);
+				// Every sender's values are still fresh, so start again rather than
+				// letting the cache grow without limit
+				if (cachedValues.size() >= MAX_CACHED_SENDERS) {
+					cachedValues.clear();
+				}
+			}
+			values = createValues(sender, now + cacheMillis);
+			cachedValues.put(key, values);
+		}
+		return values;
+	}
+
+	private Values<T> createValues(CommandSender sender, long expiry) {
+		Map<String, IStringTooltip> tooltips = new LinkedHashMap<>();
+		Map<String, T> objects = new HashMap<>();
+		for (T object : supplier.apply(sender)) {
+			IStringTooltip tooltip = mapper.apply(object);
+			// If more than one value has the same suggestion, the first one is used
+			if (tooltips.putIfAbsent(tooltip.getSuggestion(), tooltip) == null) {
+				objects.put(tooltip.getSuggestion(), object);
+			}
+		}
+		return new Values<>(tooltips, objects, expiry);
+	}
+
 	@Override
 	public Class<List> getPrimitiveType() {
 		return List.class;
@@ -112,41 +165,39 @@ public class ListArgumentCommon<T> extends Argument<List> {
 	public <CommandListenerWrapper> List<T> parseArgument(NMS<CommandListenerWrapper> nms,
 														  CommandContext<CommandListenerWrapper> cmdCtx, String key, Object[] previousArgs) throws CommandSyntaxException {
 		// Get the list of values which this can take
-		Map<IStringTooltip, T> values = new HashMap<>();
-		for (T object : supplier.apply(nms.getCommandSenderFromCSS(cmdCtx.getSource()))) {
-			values.put(mapper.apply(object), object);
-		}
+		Map<String, T> values = getValues(nms.getCommandSenderFromCSS(cmdCtx.getSource())).objects();
 
 		// If the argument's value is in the list of values, include it
 		List<T> list = new ArrayList<>();
+		Set<String> givenValues = new HashSet<>();
 		String argument = cmdCtx.getArgument(key, String.class);
-		String[] strArr = argument.split(Pattern.quote(delimiter));
+		String[] strArr = delimiterPattern.split(argument);
 		StringReader context = new StringReader(argument);
 		int cursor = 0;
 		for (String str : strArr) {
-			boolean addedItem = false;
-			// Yes, this isn't an instant lookup HashMap, but this is the best we can do
-			for (IStringTooltip value : values.keySet()) {
-				if (value.getSuggestion().equals(str)) {
-					if (allowDuplicates) {
-						list.add(values.get(value));
-					} else {
-						if (!list.contains(values.get(value))) {
-							list.add(values.get(value));
-						} else {
-							context.setCursor(cursor);
-							throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
-						}
-					}
-					addedItem = true;
-				}
-			}
-			if(!addedItem) {
+			T value = values.get(str);
+			if (value == null && !values.containsKey(str)) {
 				context.setCursor(cursor);
 				throw new SimpleCommandExceptionType(new LiteralMessage("Item is not allowed in list")).createWithContext(context);
 			}
+			if (!allowDuplicates && !givenValues.add(str)) {
+				context.setCursor(cursor);
+				throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
+			}
+			list.add(value);
 			cursor += str.length() + delimiter.length();
 		}
 		return list;
 	}
+
+	/**
+	 * The values a list argument can take for a command sender
+	 *
+	 * @param tooltips the suggestion of each value, in the order of the list
+	 * @param objects  each value, indexed by its suggestion
+	 * @param expiry   when these values should be got from the list again, in
+	 *                 milliseconds since the epoch, or 0 if they aren't cached
+	 */
+	private record Values<T>(Map<String, IStringTooltip> tooltips, Map<String, T> objects, long expiry) {
+	}
 }
@@ -23,6 +23,7 @@ package dev.jorel.commandapi.arguments;
 import dev.jorel.commandapi.IStringTooltip;
 import org.bukkit.command.CommandSender;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Function;
 
@@ -32,7 +33,7 @@ import java.util.function.Function;
  * @param <T> the type that this list argument generates a list of.
  */
 public class ListTextArgument<T> extends ListArgumentCommon<T> {
-	ListTextArgument(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper) {
-		super(nodeName, delimiter, allowDuplicates, supplier, suggestionsMapper, true);
+	ListTextArgument(String nodeName, String delimiter, boolean allowDuplicates, Function<CommandSender, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, Duration cacheDuration) {
+		super(nodeName, delimiter, allowDuplicates, supplier, suggestionsMapper, true, cacheDuration);
 	}
 }
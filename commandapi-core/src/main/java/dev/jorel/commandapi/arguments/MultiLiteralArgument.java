@@ -71,4 +71,9 @@ public class MultiLiteralArgument extends Argument<String> {
 			CommandContext<CommandListenerWrapper> cmdCtx, String key, Object[] previousArgs) throws CommandSyntaxException {
 		throw new IllegalStateException("Cannot parse MultiLiteralArgument");
 	}
+
+	@Override
+	public String toString() {
+		return "(" + String.join("|", literals) + ")<" + this.getClass().getSimpleName() + ">";
+	}
 }
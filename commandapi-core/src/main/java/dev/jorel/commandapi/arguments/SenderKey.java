@@ -0,0 +1,19 @@
+package dev.jorel.commandapi.arguments;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+
+/**
+ * Identifies a command sender in a cache without keeping it alive. Entities
+ * (including players) are told apart by their UUID, and other senders (such as
+ * the console or command blocks, which are a new object every time they run a
+ * command) by their type and name.
+ */
+record SenderKey(Class<?> type, Object id) {
+
+	static SenderKey of(CommandSender sender) {
+		return sender instanceof Entity entity ? new SenderKey(Entity.class, entity.getUniqueId())
+				: new SenderKey(sender.getClass(), sender.getName());
+	}
+
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright 2018, 2020 Jorel Ali (Skepter) - MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package dev.jorel.commandapi.executors;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.entity.Player;
+
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+
+/**
+ * An asynchronous command executor for a Player. This is run off the server
+ * thread, so it must not use most of the Bukkit API directly. Use
+ * {@link dev.jorel.commandapi.CommandAPI#runSync(java.util.function.Supplier)}
+ * to run code back on the server thread
+ */
+@FunctionalInterface
+public interface AsyncPlayerCommandExecutor {
+
+	/**
+	 * The code to run when this command is performed
+	 * 
+	 * @param sender
+	 *            The player who ran this command
+	 * @param args
+	 *            The arguments given to this command. The objects are
+	 *            determined by the hashmap of arguments IN THE ORDER of
+	 *            insertion into the hashmap
+	 * @return a future which completes with the result of this command. If it
+	 *         completes exceptionally with a WrapperCommandSyntaxException, the
+	 *         error is shown to the sender
+	 */
+	CompletableFuture<Integer> run(Player sender, Object[] args) throws WrapperCommandSyntaxException;
+
+}
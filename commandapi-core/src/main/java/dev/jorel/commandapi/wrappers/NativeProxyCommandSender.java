@@ -22,6 +22,7 @@ package dev.jorel.commandapi.wrappers;
 
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.bukkit.Location;
 import org.bukkit.Server;
@@ -44,8 +45,12 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 
 	private final CommandSender caller;
 	private final CommandSender callee;
-	private final Location location;
-	private final World world;
+	// Cleared once the value has been computed. Being volatile, clearing them also
+	// publishes the computed value to other threads
+	private volatile Supplier<Location> locationSupplier;
+	private Location location;
+	private volatile Supplier<World> worldSupplier;
+	private World world;
 
 	/**
 	 * Constructs a NativeProxyCommandSender, which is basically Minecraft's CommandListenerWrapper
@@ -60,6 +65,22 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 		this.location = location;
 		this.world = world;
 	}
+
+	/**
+	 * Constructs a NativeProxyCommandSender whose location and world are only
+	 * computed when they are first requested, which avoids reading them from
+	 * Minecraft's CommandListenerWrapper for commands which never use them
+	 * @param caller the command sender that actually sent the command
+	 * @param callee the command sender that will be executing the command
+	 * @param location a supplier of the proxied location that the command will be run at
+	 * @param world a supplier of the proxied world that the command will be run in
+	 */
+	public NativeProxyCommandSender(CommandSender caller, CommandSender callee, Supplier<Location> location, Supplier<World> world) {
+		this.caller = caller;
+		this.callee = callee == null ? caller : callee;
+		this.locationSupplier = location;
+		this.worldSupplier = world;
+	}
 	
 	/**
      * Adds a new empty PermissionAttachment to this object
@@ -156,6 +177,15 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 	 * @return the location that this native command sender represents
 	 */
 	public Location getLocation() {
+		if (this.locationSupplier != null) {
+			synchronized (this) {
+				Supplier<Location> supplier = this.locationSupplier;
+				if (supplier != null) {
+					this.location = supplier.get();
+					this.locationSupplier = null;
+				}
+			}
+		}
 		return this.location;
 	}
 
@@ -184,6 +214,15 @@ public class NativeProxyCommandSender implements ProxiedCommandSender {
 	 * @return the world that this native command sender represents
 	 */
 	public World getWorld() {
+		if (this.worldSupplier != null) {
+			synchronized (this) {
+				Supplier<World> supplier = this.worldSupplier;
+				if (supplier != null) {
+					this.world = supplier.get();
+					this.worldSupplier = null;
+				}
+			}
+		}
 		return this.world;
 	}
 
@@ -807,15 +807,15 @@ public class NMS_1_14 extends NMSWrapper_1_14 {
 		CommandListenerWrapper clw = cmdCtx.getSource();
 
 		CommandSender sender = clw.getBukkitSender();
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
-
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new NativeProxyCommandSender(sender, proxy, location, world);
+			// The location and world are only read if the proxy is used
+			return new NativeProxyCommandSender(sender, proxy, () -> {
+				Vec3D pos = clw.getPosition();
+				Vec2F rot = clw.i();
+				return new Location(getWorldForCSS(clw), pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
+			}, () -> getWorldForCSS(clw));
 		} else {
 			return sender;
 		}
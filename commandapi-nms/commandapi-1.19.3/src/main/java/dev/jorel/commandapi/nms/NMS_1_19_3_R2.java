@@ -633,15 +633,15 @@ public class NMS_1_19_3_R2 extends NMS_Common {
 		CommandSourceStack css = cmdCtx.getSource();
 
 		CommandSender sender = css.getBukkitSender();
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.x, rot.y);
-
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
-			return new NativeProxyCommandSender(sender, proxy, location, world);
+			// The location and world are only read if the proxy is used
+			return new NativeProxyCommandSender(sender, proxy, () -> {
+				Vec3 pos = css.getPosition();
+				Vec2 rot = css.getRotation();
+				return new Location(getWorldForCSS(css), pos.x(), pos.y(), pos.z(), rot.x, rot.y);
+			}, () -> getWorldForCSS(css));
 		} else {
 			return sender;
 		}
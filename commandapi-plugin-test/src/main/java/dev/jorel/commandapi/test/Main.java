@@ -1,5 +1,6 @@
 package dev.jorel.commandapi.test;
 import java.io.File;
+import java.util.function.UnaryOperator;
 
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -11,16 +12,20 @@ import dev.jorel.commandapi.CommandAPIConfig;
 import dev.jorel.commandapi.nms.NMS_1_19_3_R2;
 
 public class Main extends JavaPlugin {
+
+	// Lets a test change the config before the plugin is loaded. Tests which set
+	// this should reset it to UnaryOperator.identity() afterwards
+	static UnaryOperator<CommandAPIConfig> configModifier = UnaryOperator.identity();
 	
 	@Override
 	public void onLoad() {
-		CommandAPI.onLoad(new CommandAPIConfig()
+		CommandAPI.onLoad(configModifier.apply(new CommandAPIConfig()
 			.useLatestNMSVersion(true)
 			.silentLogs(true)
 			.dispatcherFile(new File("command_registration.json"))
 			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
 			.setCustomNMS(new MockNMS(new NMS_1_19_3_R2()))
-		);
+		));
 	}
 
 	@Override
@@ -109,6 +109,9 @@ import net.minecraft.world.phys.Vec3D;
 
 public class MockNMS extends ArgumentNMS {
 
+	// The players who would have been sent the commands packet, in order
+	final List<Player> resentPackets = new ArrayList<>();
+
 	public MockNMS(NMS<?> baseNMS) {
 		super(baseNMS);
 		try {
@@ -432,8 +435,8 @@ public class MockNMS extends ArgumentNMS {
 	
 	@Override
 	public void resendPackets(Player player) {
-		// There's nothing to do here, we can't "send packets to players"
-		return;
+		// We can't "send packets to players", so just remember who it was sent to
+		resentPackets.add(player);
 	}
 
 }
@@ -2,12 +2,15 @@ package dev.jorel.commandapi.test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.LazyArgument;
 import dev.jorel.commandapi.arguments.*;
 import dev.jorel.commandapi.wrappers.CommandResult;
 import org.bukkit.Bukkit;
@@ -29,6 +32,7 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
 import be.seeseemelk.mockbukkit.MockBukkit;
 import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.command.ConsoleCommandSenderMock;
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.arguments.AdvancementArgument;
@@ -413,6 +417,78 @@ public class ArgumentTests {
 		assertEquals(List.of("cat", "wolf", "axolotl"), type.get());
 		assertEquals(List.of("axolotl", "wolf", sender.getName()), type.get());
 	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void executionTestWithCachedListArgument() {
+		Mut<List<String>> type = Mut.of();
+
+		PlayerMock sender = server.addPlayer("APlayer");
+		List<String> values = new ArrayList<>(List.of("cat", "wolf", "axolotl"));
+
+		ListArgument<String> listArgument = new ListArgumentBuilder<String>("values", ", ")
+			.cacheList(Duration.ofMinutes(1))
+			.withList(() -> values)
+			.withStringMapper()
+			.build();
+
+		new CommandAPICommand("list")
+			.withArguments(listArgument)
+			.executesPlayer((player, args) -> {
+				type.set((List<String>) args[0]);
+			})
+			.register();
+
+		server.dispatchCommand(sender, "list cat, wolf"); // fills the cache
+		assertEquals(List.of("cat", "wolf"), type.get());
+
+		// New values aren't seen until the cache is invalidated
+		values.add("chicken");
+		assertInvalidSyntax(sender, "list cat, chicken");
+
+		listArgument.invalidateCache(sender);
+		server.dispatchCommand(sender, "list cat, chicken");
+		assertEquals(List.of("cat", "chicken"), type.get());
+
+		// Removed values are still accepted until the whole cache is invalidated
+		values.remove("wolf");
+		server.dispatchCommand(sender, "list wolf");
+		assertEquals(List.of("wolf"), type.get());
+
+		listArgument.invalidateCache();
+		assertInvalidSyntax(sender, "list wolf");
+		assertEquals(null, type.get());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void executionTestWithCachedListArgumentForOtherSenders() {
+		Mut<List<String>> type = Mut.of();
+		List<String> values = new ArrayList<>(List.of("cat", "wolf"));
+
+		ListArgument<String> listArgument = new ListArgumentBuilder<String>("values", ", ")
+			.cacheList(Duration.ofMinutes(1))
+			.withList(() -> values)
+			.withStringMapper()
+			.build();
+
+		new CommandAPICommand("list")
+			.withArguments(listArgument)
+			.executes((sender, args) -> {
+				type.set((List<String>) args[0]);
+			})
+			.register();
+
+		server.dispatchCommand(server.getConsoleSender(), "list cat");
+		assertEquals(List.of("cat"), type.get());
+
+		// Senders which aren't entities are remembered by their type and name, not
+		// by the sender object itself
+		values.add("chicken");
+		listArgument.invalidateCache(new ConsoleCommandSenderMock());
+		server.dispatchCommand(server.getConsoleSender(), "list chicken");
+		assertEquals(List.of("chicken"), type.get());
+	}
 	
 	@SuppressWarnings("unchecked")
 	@Test
@@ -797,4 +873,49 @@ public class ArgumentTests {
 		
 	}
 
+	@Test
+	public void executionTestWithLazyArgumentBeforeCustomArgument() {
+		Mut<Object> previousArg = Mut.of();
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("first").setLazy(true))
+			.withArguments(new CustomArgument<String, String>(new StringArgument("second"), info -> {
+				previousArg.set(info.previousArgs()[0]);
+				return info.currentInput();
+			}))
+			.executesPlayer((player, args) -> {
+				player.sendMessage(((LazyArgument<?>) args[0]).get() + " " + args[1]);
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test hello world")));
+
+		// The CustomArgument is given the parsed value, not the LazyArgument
+		assertEquals("hello", previousArg.get());
+		assertEquals("hello world", player.nextMessage());
+	}
+
+	@Test
+	public void executionTestWithPreviousArgsOfCustomArgument() {
+		Mut<List<Object>> previousArgs = Mut.of();
+		new CommandAPICommand("test")
+			.withArguments(new LiteralArgument("literal"))
+			.withArguments(new MultiLiteralArgument("red", "blue"))
+			.withArguments(new IntegerArgument("number"))
+			.withArguments(new CustomArgument<String, String>(new StringArgument("custom"), info -> {
+				previousArgs.set(List.of(info.previousArgs()));
+				return info.currentInput();
+			}))
+			.withArguments(new StringArgument("last"))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test literal blue 5 hello world")));
+
+		// Only the listed arguments before the CustomArgument are given to it
+		assertEquals(List.of("blue", 5), previousArgs.get());
+	}
+
 }
@@ -0,0 +1,119 @@
+package dev.jorel.commandapi.test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+
+/**
+ * Tests for executesAsync and executesPlayerAsync
+ */
+public class AsyncExecutorTests {
+
+	private CustomServerMock server;
+	private Main plugin;
+	private ExecutorService executor;
+
+	@BeforeEach
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+		Main.configModifier = config -> config.asyncExecutor(executor);
+		server = MockBukkit.mock(new CustomServerMock());
+		plugin = MockBukkit.load(Main.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		Main.configModifier = UnaryOperator.identity();
+		executor.shutdownNow();
+	}
+
+	// Waits for the async executors to finish, then runs the tasks they gave to
+	// CommandAPI.runSync
+	private void awaitAsync() throws Exception {
+		executor.submit(() -> {
+		}).get();
+		server.getScheduler().performOneTick();
+	}
+
+	@Test
+	public void testAsyncExecutorRunsOffTheServerThread() throws Exception {
+		Mut<String> results = Mut.of();
+		new CommandAPICommand("test")
+			.executesPlayerAsync((player, args) -> {
+				results.set(Bukkit.isPrimaryThread() ? "sync" : "async");
+				return CommandAPI.runSync(() -> {
+					player.sendMessage("done");
+					return 1;
+				});
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test"));
+		awaitAsync();
+		assertEquals("async", results.get());
+		assertEquals("done", player.nextMessage());
+	}
+
+	@Test
+	public void testAsyncExecutorFailure() throws Exception {
+		new CommandAPICommand("test")
+			.executesAsync((sender, args) -> {
+				throw CommandAPI.fail("Error message");
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test"));
+		awaitAsync();
+		assertEquals(ChatColor.RED + "Error message", player.nextMessage());
+	}
+
+	@Test
+	public void testAsyncExecutorFailedFuture() throws Exception {
+		new CommandAPICommand("test")
+			.executesPlayerAsync((player, args) -> CompletableFuture.failedFuture(CommandAPI.fail("Error message")))
+			.register();
+
+		new CommandAPICommand("other")
+			.executesPlayerAsync((player, args) -> CompletableFuture.failedFuture(new IllegalStateException("Other error")))
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test"));
+		awaitAsync();
+		assertEquals(ChatColor.RED + "Error message", player.nextMessage());
+
+		// Other failures are printed, not sent to the sender
+		assertTrue(server.dispatchCommand(player, "other"));
+		awaitAsync();
+		assertNull(player.nextMessage());
+	}
+
+	@Test
+	public void testRunSyncOnServerThread() {
+		Thread serverThread = Thread.currentThread();
+		CompletableFuture<Thread> thread = CommandAPI.runSync(Thread::currentThread);
+		assertTrue(thread.isDone());
+		assertEquals(serverThread, thread.join());
+	}
+
+}
@@ -1,19 +1,40 @@
 package dev.jorel.commandapi.test;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 import org.bukkit.Bukkit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
 import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.arguments.ArgumentTree;
 import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
 import dev.jorel.commandapi.exceptions.GreedyArgumentException;
 import dev.jorel.commandapi.exceptions.InvalidCommandNameException;
@@ -113,4 +134,263 @@ public class CommandTests {
 			.register();
 	}
 
+	@Test
+	public void testMultiLiteralSiblingsAreIsolated() {
+		Mut<String> results = Mut.of();
+		new CommandAPICommand("test")
+			.withArguments(new MultiLiteralArgument("a", "b"))
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("multi " + args[0] + " " + args[1]);
+			})
+			.register();
+
+		// Overriding the executor of one literal doesn't change the other
+		new CommandAPICommand("test")
+			.withArguments(new LiteralArgument("a"))
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("literal " + args[0]);
+			})
+			.register();
+
+		// Adding arguments below one literal doesn't add them below the other
+		new CommandAPICommand("test")
+			.withArguments(new LiteralArgument("a"))
+			.withArguments(new StringArgument("value"))
+			.withArguments(new IntegerArgument("amount"))
+			.executesPlayer((player, args) -> {
+				results.set("amount " + args[0] + " " + args[1]);
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test a hello"));
+		assertEquals("literal hello", results.get());
+		assertTrue(server.dispatchCommand(player, "test b hello"));
+		assertEquals("multi b hello", results.get());
+		assertTrue(server.dispatchCommand(player, "test a hello 5"));
+		assertEquals("amount hello 5", results.get());
+		assertFalse(server.dispatchCommand(player, "test b hello 5"));
+		assertEquals(null, results.get());
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void testMultiLiteralSiblingsShareNodesUntilChanged() {
+		new CommandAPICommand("test")
+			.withArguments(new MultiLiteralArgument("a", "b", "c"))
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		// The arguments after a MultiLiteralArgument are only built once
+		CommandNode command = Brigadier.getRootNode().getChild("test");
+		assertSame(command.getChild("a").getChild("value"), command.getChild("b").getChild("value"));
+		assertSame(command.getChild("a").getChild("value"), command.getChild("c").getChild("value"));
+
+		// Until a registration is merged into one of them
+		new CommandAPICommand("test")
+			.withArguments(new LiteralArgument("a"))
+			.withArguments(new StringArgument("value"))
+			.withArguments(new IntegerArgument("amount"))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+		assertNotSame(command.getChild("a").getChild("value"), command.getChild("b").getChild("value"));
+		assertSame(command.getChild("b").getChild("value"), command.getChild("c").getChild("value"));
+		assertNotNull(command.getChild("a").getChild("value").getChild("amount"));
+		assertNull(command.getChild("b").getChild("value").getChild("amount"));
+	}
+
+	@Test
+	public void testTreeWithNestedExecutors() {
+		Mut<String> results = Mut.of();
+		new CommandTree("test")
+			.executesPlayer((player, args) -> {
+				results.set("test");
+			})
+			.then(new LiteralArgument("a")
+				.executesPlayer((player, args) -> {
+					results.set("a");
+				})
+				.then(new StringArgument("value")
+					.executesPlayer((player, args) -> {
+						results.set("a " + args[0]);
+					})))
+			.then(new IntegerArgument("amount")
+				.then(new StringArgument("value")
+					.executesPlayer((player, args) -> {
+						results.set(args[0] + " " + args[1]);
+					})))
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test"));
+		assertEquals("test", results.get());
+		assertTrue(server.dispatchCommand(player, "test a"));
+		assertEquals("a", results.get());
+		assertTrue(server.dispatchCommand(player, "test a hello"));
+		assertEquals("a hello", results.get());
+		assertTrue(server.dispatchCommand(player, "test 5 hello"));
+		assertEquals("5 hello", results.get());
+
+		// Nodes without an executor can't be run on their own
+		assertFalse(server.dispatchCommand(player, "test 5"));
+		assertEquals(null, results.get());
+	}
+
+	@Test
+	public void testTreeWithMultiLiteralArgument() {
+		Mut<String> results = Mut.of();
+		new CommandTree("test")
+			.then(new MultiLiteralArgument("a", "b")
+				.then(new StringArgument("value")
+					.executesPlayer((player, args) -> {
+						results.set(args[0] + " " + args[1]);
+					})))
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test a hello"));
+		assertEquals("a hello", results.get());
+		assertTrue(server.dispatchCommand(player, "test b hello"));
+		assertEquals("b hello", results.get());
+		assertFalse(server.dispatchCommand(player, "test c hello"));
+		assertEquals(null, results.get());
+	}
+
+	@Test
+	public void testTreeConflictsOnlySkipTheConflictingPath() {
+		Mut<String> results = Mut.of();
+		new CommandAPICommand("test")
+			.withArguments(new IntegerArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("int " + args[0]);
+			})
+			.register();
+
+		// The value argument has a different type than the registered one, so
+		// that path is skipped but the rest of the tree is still registered
+		new CommandTree("test")
+			.then(new StringArgument("value")
+				.executesPlayer((player, args) -> {
+					results.set("string " + args[0]);
+				}))
+			.then(new LiteralArgument("other")
+				.executesPlayer((player, args) -> {
+					results.set("other");
+				}))
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test 5"));
+		assertEquals("int 5", results.get());
+		assertTrue(server.dispatchCommand(player, "test other"));
+		assertEquals("other", results.get());
+		assertFalse(server.dispatchCommand(player, "test hello"));
+		assertEquals(null, results.get());
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+	}
+
+	@Test
+	public void testInvalidTreeIsNotPartlyRegistered() {
+		ArgumentTree valid = new LiteralArgument("a")
+			.then(new StringArgument("value")
+				.executesPlayer((player, args) -> {
+				}));
+
+		// The valid path is checked before the greedy argument which isn't last
+		assertThrows(GreedyArgumentException.class, () -> {
+			new CommandTree("test")
+				.then(valid)
+				.then(new GreedyStringArgument("greedy")
+					.then(new StringArgument("value")
+						.executesPlayer((player, args) -> {
+						})))
+				.register();
+		});
+		assertTrue(CommandAPI.getRegisteredCommands().isEmpty());
+		assertNull(Brigadier.getRootNode().getChild("test"));
+
+		// Nothing was left behind, so the same path can be registered with a
+		// different type
+		Mut<String> results = Mut.of();
+		new CommandTree("test")
+			.then(new LiteralArgument("a")
+				.then(new IntegerArgument("value")
+					.executesPlayer((player, args) -> {
+						results.set("a " + args[0]);
+					})))
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "test a 5"));
+		assertEquals("a 5", results.get());
+	}
+
+	@Test
+	public void testExecutorsAreChosenPerSenderClass() {
+		Mut<String> results = Mut.of();
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+				results.set("player");
+			})
+			.executesConsole((console, args) -> {
+				results.set("console");
+			})
+			.register();
+
+		new CommandAPICommand("playeronly")
+			.executesPlayer((player, args) -> {
+				results.set("playeronly");
+			})
+			.register();
+
+		// Each sender class keeps its own executor, however the calls are interleaved
+		PlayerMock player = server.addPlayer();
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test")));
+		assertEquals("player", results.get());
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(server.getConsoleSender(), "test")));
+		assertEquals("console", results.get());
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test")));
+		assertEquals("player", results.get());
+
+		// Senders without an executor get the missing implementation message
+		assertThrows(CommandSyntaxException.class, () -> server.dispatchThrowableCommand(server.getConsoleSender(), "playeronly"));
+		assertEquals(null, results.get());
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "playeronly")));
+		assertEquals("playeronly", results.get());
+	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void testForceUnregisterFindsNewNamespacedCommands() {
+		new CommandAPICommand("test")
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+		RootCommandNode root = Brigadier.getRootNode();
+		Brigadier.getCommandDispatcher().register(LiteralArgumentBuilder.literal("first:test"));
+
+		CommandAPI.unregisterAll(List.of("test"), true);
+		assertNull(root.getChild("test"));
+		assertNull(root.getChild("first:test"));
+
+		// Namespaced commands added after the last unregister are found too
+		Brigadier.getCommandDispatcher().register(LiteralArgumentBuilder.literal("second:test"));
+		CommandAPI.unregisterAll(List.of("test"), true);
+		assertNull(root.getChild("second:test"));
+
+		// Replacing a root node keeps the number of root nodes the same, but the
+		// new namespaced command is still found
+		Brigadier.getCommandDispatcher().register(LiteralArgumentBuilder.literal("other"));
+		CommandAPI.unregisterAll(List.of("test"), true);
+		CommandAPI.unregister("other");
+		Brigadier.getCommandDispatcher().register(LiteralArgumentBuilder.literal("third:test"));
+		CommandAPI.unregisterAll(List.of("test"), true);
+		assertNull(root.getChild("third:test"));
+	}
+
 }
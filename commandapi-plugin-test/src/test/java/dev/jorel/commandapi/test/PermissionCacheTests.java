@@ -0,0 +1,75 @@
+package dev.jorel.commandapi.test;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.UnaryOperator;
+
+import org.bukkit.Bukkit;
+import org.bukkit.permissions.PermissionAttachment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+
+/**
+ * Tests for the cache-permissions config option
+ */
+public class PermissionCacheTests {
+
+	private CustomServerMock server;
+	private Main plugin;
+
+	private void load(long permissionCacheTime) {
+		Main.configModifier = config -> config.cachePermissions(true).permissionCacheTime(permissionCacheTime);
+		server = MockBukkit.mock(new CustomServerMock());
+		plugin = MockBukkit.load(Main.class);
+
+		new CommandAPICommand("test")
+			.withPermission("test.permission")
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		Main.configModifier = UnaryOperator.identity();
+	}
+
+	@Test
+	public void testUpdateRequirementsForgetsPermissions() {
+		load(0);
+		PlayerMock player = server.addPlayer();
+		PermissionAttachment attachment = player.addAttachment(plugin, "test.permission", true);
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test")));
+
+		// The removed permission is still remembered until the requirements are updated
+		attachment.remove();
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test")));
+
+		CommandAPI.updateRequirements(player);
+		assertThrows(CommandSyntaxException.class, () -> server.dispatchThrowableCommand(player, "test"));
+	}
+
+	@Test
+	public void testRememberedPermissionsExpire() throws InterruptedException {
+		load(10);
+		PlayerMock player = server.addPlayer();
+		PermissionAttachment attachment = player.addAttachment(plugin, "test.permission", true);
+		assertDoesNotThrow(() -> assertTrue(server.dispatchThrowableCommand(player, "test")));
+
+		attachment.remove();
+		Thread.sleep(20);
+		assertThrows(CommandSyntaxException.class, () -> server.dispatchThrowableCommand(player, "test"));
+	}
+
+}
@@ -0,0 +1,182 @@
+package dev.jorel.commandapi.test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.Bukkit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.tree.CommandNode;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.AdventureChatArgument;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for aliases registered as redirect nodes
+ */
+public class RedirectAliasTests {
+
+	private CustomServerMock server;
+	private Main plugin;
+
+	@BeforeEach
+	public void setUp() {
+		Main.configModifier = config -> config.redirectAliases(true);
+		server = MockBukkit.mock(new CustomServerMock());
+		plugin = MockBukkit.load(Main.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		Main.configModifier = UnaryOperator.identity();
+	}
+
+	// Counts every node below the given command names, without following
+	// redirects
+	@SuppressWarnings("rawtypes")
+	private int countNodes(String... commandNames) {
+		Set<CommandNode> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (String commandName : commandNames) {
+			addNodes(Brigadier.getRootNode().getChild(commandName), nodes);
+		}
+		return nodes.size();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private void addNodes(CommandNode node, Set<CommandNode> nodes) {
+		if (nodes.add(node)) {
+			for (Object child : node.getChildren()) {
+				addNodes((CommandNode) child, nodes);
+			}
+		}
+	}
+
+	@Test
+	public void testAliasSuggestionsReadPreviousArguments() {
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new MultiLiteralArgument("red", "blue"))
+			.withArguments(new StringArgument("first"))
+			.withArguments(new StringArgument("second").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				new String[] { info.previousArgs()[0] + "-" + info.previousArgs()[1] })))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertEquals(List.of("blue-hello"), server.getSuggestions(player, "test blue hello "));
+		assertEquals(List.of("blue-hello"), server.getSuggestions(player, "alias blue hello "));
+	}
+
+	@Test
+	public void testRedirectAliasesDontCopyArguments() {
+		for (int i = 0; i < 10; i++) {
+			new CommandAPICommand("test")
+				.withAliases("first", "second")
+				.withArguments(new LiteralArgument("sub" + i))
+				.executesPlayer((player, args) -> {
+				})
+				.register();
+		}
+
+		// The command, its 10 subcommands and one node for each alias. Copied
+		// aliases would have 3 * (1 + 10) nodes
+		assertEquals(1 + 10 + 2, countNodes("test", "first", "second"));
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "second sub9"));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void testCopiedAliasesAreKeptByLaterRegistrations() {
+		Mut<String> results = Mut.of();
+
+		// Previewable arguments can't be reached through a redirect, so this
+		// command's aliases are copies
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new LiteralArgument("chat"))
+			.withArguments(new AdventureChatArgument("message").withPreview(info -> null))
+			.executesPlayer((player, args) -> {
+				results.set("chat");
+			})
+			.register();
+
+		// The alias node is already a copy, so this registration is copied into
+		// it too instead of being lost behind a redirect that's never set
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new LiteralArgument("other"))
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("other " + args[0]);
+			})
+			.register();
+
+		CommandNode alias = Brigadier.getRootNode().getChild("alias");
+		assertNull(alias.getRedirect());
+		assertNotNull(alias.getChild("other"));
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "alias other hello"));
+		assertEquals("other hello", results.get());
+		assertTrue(server.dispatchCommand(player, "alias chat hello"));
+		assertEquals("chat", results.get());
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void testRedirectAliasesAreKeptByLaterRegistrations() {
+		Mut<String> results = Mut.of();
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new LiteralArgument("other"))
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set("other " + args[0]);
+			})
+			.register();
+
+		// The alias already redirects, so this registration is reached through
+		// the redirect instead of being copied below a node that ignores it
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new LiteralArgument("chat"))
+			.withArguments(new AdventureChatArgument("message").withPreview(info -> null))
+			.executesPlayer((player, args) -> {
+				results.set("chat");
+			})
+			.register();
+
+		CommandNode alias = Brigadier.getRootNode().getChild("alias");
+		assertSame(Brigadier.getRootNode().getChild("test"), alias.getRedirect());
+		assertTrue(alias.getChildren().isEmpty());
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "alias other hello"));
+		assertEquals("other hello", results.get());
+		assertTrue(server.dispatchCommand(player, "alias chat hello"));
+		assertEquals("chat", results.get());
+	}
+
+}
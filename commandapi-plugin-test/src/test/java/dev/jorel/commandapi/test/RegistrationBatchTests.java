@@ -0,0 +1,115 @@
+package dev.jorel.commandapi.test;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.bukkit.Bukkit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.RegistrationBatch;
+import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for registering commands in a {@link RegistrationBatch}
+ */
+public class RegistrationBatchTests {
+
+	private CustomServerMock server;
+	private Main plugin;
+
+	@BeforeEach
+	public void setUp() {
+		server = MockBukkit.mock(new CustomServerMock());
+		plugin = MockBukkit.load(Main.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+	}
+
+	@Test
+	public void testCommandsAreRegisteredOnCommit() {
+		Mut<String> results = Mut.of();
+		RegistrationBatch batch = CommandAPI.beginBatch();
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("value"))
+			.executesPlayer((player, args) -> {
+				results.set((String) args[0]);
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertFalse(server.dispatchCommand(player, "test hello"));
+
+		batch.commit();
+		assertTrue(batch.isCommitted());
+		assertTrue(server.dispatchCommand(player, "test hello"));
+		assertEquals("hello", results.get());
+	}
+
+	@Test
+	public void testFailedCommandDoesNotAbortBatch() {
+		Mut<String> results = Mut.of();
+		RegistrationBatch batch = CommandAPI.beginBatch();
+
+		// The greedy argument isn't last, so this fails when the batch is committed
+		new CommandTree("broken")
+			.then(new GreedyStringArgument("greedy")
+				.then(new StringArgument("value")
+					.executesPlayer((player, args) -> {
+						results.set("broken");
+					})))
+			.register();
+		new CommandAPICommand("working")
+			.executesPlayer((player, args) -> {
+				results.set("working");
+			})
+			.register();
+
+		assertDoesNotThrow(batch::commit);
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "working"));
+		assertEquals("working", results.get());
+		assertFalse(server.dispatchCommand(player, "broken text value"));
+	}
+
+	@Test
+	public void testBatchIsEmptyAfterFailedCommit() {
+		RegistrationBatch batch = CommandAPI.beginBatch();
+		new CommandTree("broken")
+			.then(new GreedyStringArgument("greedy")
+				.then(new StringArgument("value")
+					.executesPlayer((player, args) -> {
+					})))
+			.register();
+		batch.commit();
+
+		// The failed command isn't registered again by the next batch
+		Mut<String> results = Mut.of();
+		RegistrationBatch nextBatch = CommandAPI.beginBatch();
+		new CommandAPICommand("next")
+			.executesPlayer((player, args) -> {
+				results.set("next");
+			})
+			.register();
+		assertDoesNotThrow(nextBatch::commit);
+
+		PlayerMock player = server.addPlayer();
+		assertTrue(server.dispatchCommand(player, "next"));
+		assertEquals("next", results.get());
+	}
+
+}
@@ -0,0 +1,66 @@
+package dev.jorel.commandapi.test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.bukkit.Bukkit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIConfig;
+import dev.jorel.commandapi.CommandAPIHandler;
+
+/**
+ * Tests for CommandAPI.updateRequirements
+ */
+public class RequirementUpdateTests {
+
+	private CustomServerMock server;
+	private Main plugin;
+
+	private MockNMS load(UnaryOperator<CommandAPIConfig> configModifier) {
+		Main.configModifier = configModifier;
+		server = MockBukkit.mock(new CustomServerMock());
+		plugin = MockBukkit.load(Main.class);
+		return (MockNMS) CommandAPIHandler.getInstance().getNMS();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		Main.configModifier = UnaryOperator.identity();
+	}
+
+	@Test
+	public void testUpdatesAreSentImmediately() {
+		MockNMS nms = load(UnaryOperator.identity());
+		PlayerMock player = server.addPlayer();
+		nms.resentPackets.clear();
+
+		CommandAPI.updateRequirements(player);
+		CommandAPI.updateRequirements(player);
+		assertEquals(List.of(player, player), nms.resentPackets);
+	}
+
+	@Test
+	public void testCoalescedUpdatesAreSentOnceNextTick() {
+		MockNMS nms = load(config -> config.coalesceRequirementUpdates(true));
+		PlayerMock player = server.addPlayer();
+		server.getScheduler().performOneTick();
+		nms.resentPackets.clear();
+
+		CommandAPI.updateRequirements(player);
+		CommandAPI.updateRequirements(player);
+		assertEquals(List.of(), nms.resentPackets);
+
+		server.getScheduler().performOneTick();
+		assertEquals(List.of(player), nms.resentPackets);
+	}
+
+}
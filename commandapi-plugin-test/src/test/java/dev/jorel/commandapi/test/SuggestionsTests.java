@@ -1,7 +1,17 @@
 package dev.jorel.commandapi.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 
 import org.bukkit.Bukkit;
 import org.junit.jupiter.api.AfterEach;
@@ -9,9 +19,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import be.seeseemelk.mockbukkit.MockBukkit;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import com.mojang.brigadier.tree.ArgumentCommandNode;
+
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.StringTooltip;
+import dev.jorel.commandapi.SuggestionInfo;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions.CacheKey;
+import dev.jorel.commandapi.arguments.BooleanArgument;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.EntityTypeArgument;
 import dev.jorel.commandapi.arguments.PotionEffectArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.test.Main;
 
 /**
@@ -33,6 +61,7 @@ public class SuggestionsTests {
 		Bukkit.getScheduler().cancelTasks(plugin);
 		plugin.onDisable();
 		MockBukkit.unmock();
+		Main.configModifier = UnaryOperator.identity();
 	}
 
 	@Test
@@ -93,6 +122,257 @@ public class SuggestionsTests {
 			"minecraft:speed",
 			"minecraft:strength"), server.getSuggestions(player, "test s"));
 	}
+
+	@Test
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public void testSupersededSuggestionsAreCancelled() throws Exception {
+		List<SuggestionInfo> infos = new ArrayList<>();
+		List<CompletableFuture<String[]>> pending = new ArrayList<>();
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("value").replaceSuggestions(ArgumentSuggestions.stringsAsync(info -> {
+				CompletableFuture<String[]> future = new CompletableFuture<>();
+				infos.add(info);
+				pending.add(future);
+				return future;
+			})))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		new CommandAPICommand("other")
+			.withArguments(new StringArgument("value").replaceSuggestions(ArgumentSuggestions.strings("x")))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		CommandDispatcher dispatcher = Brigadier.getCommandDispatcher();
+		Object source = Brigadier.getBrigadierSourceFromCommandSender(player);
+
+		CompletableFuture<Suggestions> first = dispatcher.getCompletionSuggestions(dispatcher.parse("test a", source));
+		assertFalse(infos.get(0).isCancelled());
+
+		// Typing another character makes the first request out of date
+		CompletableFuture<Suggestions> second = dispatcher.getCompletionSuggestions(dispatcher.parse("test ab", source));
+		assertTrue(infos.get(0).isCancelled());
+		assertTrue(first.isCompletedExceptionally());
+		assertFalse(infos.get(1).isCancelled());
+
+		pending.get(1).complete(new String[] { "abc" });
+		assertEquals(List.of("abc"), second.get().getList().stream().map(Suggestion::getText).toList());
+
+		// Requests for another command don't cancel this one
+		dispatcher.getCompletionSuggestions(dispatcher.parse("other x", source));
+		assertFalse(infos.get(1).isCancelled());
+	}
+
+	@Test
+	public void testCachedSuggestionsAreComputedOnce() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch computing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ArgumentSuggestions cached = ArgumentSuggestions.cached(ArgumentSuggestions.strings(info -> {
+			calls.incrementAndGet();
+			computing.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new String[] { "a", "b" };
+		}), Duration.ofMinutes(1), CacheKey.SENDER);
+
+		PlayerMock player = server.addPlayer();
+		SuggestionInfo info = new SuggestionInfo(player, new Object[0], "test ", "");
+
+		// The second request arrives while the first is still computing the suggestions
+		CompletableFuture<Suggestions> first = CompletableFuture.supplyAsync(() -> {
+			try {
+				return cached.suggest(info, new SuggestionsBuilder("test ", 5)).join();
+			} catch (CommandSyntaxException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		computing.await();
+		CompletableFuture<Suggestions> second = cached.suggest(info, new SuggestionsBuilder("test ", 5));
+		release.countDown();
+
+		assertEquals(2, first.get().getList().size());
+		assertEquals(2, second.get().getList().size());
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void testCachedSuggestionsRefreshAfterFailure() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		Mut<Boolean> fail = Mut.of();
+		ArgumentSuggestions cached = ArgumentSuggestions.cached(ArgumentSuggestions.strings(info -> {
+			calls.incrementAndGet();
+			if (Boolean.TRUE.equals(fail.get())) {
+				throw new IllegalStateException("Failed to compute suggestions");
+			}
+			return new String[] { "a" };
+		}), Duration.ofMillis(400), CacheKey.GLOBAL, 16, true);
+
+		PlayerMock player = server.addPlayer();
+		SuggestionInfo info = new SuggestionInfo(player, new Object[0], "test ", "");
+		assertEquals(1, cached.suggest(info, new SuggestionsBuilder("test ", 5)).get().getList().size());
+
+		// Past half of the time to live, the suggestions are refreshed ahead. A
+		// failed refresh still serves the remembered suggestions
+		Thread.sleep(250);
+		fail.set(true);
+		assertEquals(1, cached.suggest(info, new SuggestionsBuilder("test ", 5)).get().getList().size());
+		assertEquals(2, calls.get());
+
+		// And the next request tries to refresh them again
+		assertEquals(1, cached.suggest(info, new SuggestionsBuilder("test ", 5)).get().getList().size());
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void testPreviousArgumentsAreParsedOncePerArgument() {
+		// Reload the CommandAPI with the previous arguments cache enabled
+		tearDown();
+		Main.configModifier = config -> config.previousArgumentsCacheTime(60_000);
+		setUp();
+
+		AtomicInteger parses = new AtomicInteger();
+		new CommandAPICommand("test")
+			.withArguments(new CustomArgument<String, String>(new StringArgument("first"), info -> {
+				parses.incrementAndGet();
+				return info.input();
+			}))
+			.withArguments(new StringArgument("second").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				new String[] { info.previousArgs()[0] + "-second" })))
+			.withArguments(new StringArgument("third").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				new String[] { info.previousArgs()[0] + "-" + info.previousArgs()[1] })))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertEquals(List.of("a-second"), server.getSuggestions(player, "test a "));
+		assertEquals(1, parses.get());
+
+		// Typing the argument being suggested doesn't parse the previous arguments again
+		assertEquals(List.of("a-second"), server.getSuggestions(player, "test a a"));
+		assertEquals(List.of("a-second"), server.getSuggestions(player, "test a a-"));
+		assertEquals(1, parses.get());
+
+		// Changing the input before it does
+		assertEquals(List.of("b-second"), server.getSuggestions(player, "test b "));
+		assertEquals(2, parses.get());
+
+		// And so does suggesting another argument
+		assertEquals(List.of("b-x"), server.getSuggestions(player, "test b x "));
+		assertEquals(3, parses.get());
+		assertEquals(List.of("b-x"), server.getSuggestions(player, "test b x b"));
+		assertEquals(3, parses.get());
+	}
+
+	@Test
+	public void testIndexedSuggestions() {
+		List<String> fruits = List.of("banana", "Apple", "avocado", "apricot", "Cherry");
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("fruit").replaceSuggestions(ArgumentSuggestions.indexedStrings(fruits)))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		new CommandAPICommand("limited")
+			.withArguments(new StringArgument("fruit").replaceSuggestions(ArgumentSuggestions.indexedStrings(fruits, 2)))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		new CommandAPICommand("tooltips")
+			.withArguments(new StringArgument("fruit").replaceSuggestions(ArgumentSuggestions.indexedStringsWithTooltips(List.of(
+				StringTooltip.ofString("Apple", "Red"),
+				StringTooltip.ofString("banana", "Yellow")), 0)))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		new CommandAPICommand("included")
+			.withArguments(new BooleanArgument("value").includeSuggestions(ArgumentSuggestions.indexedStrings(List.of("Maybe", "falsey"))))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// Matching is case-insensitive
+		assertEquals(List.of("Apple", "apricot", "avocado", "banana", "Cherry"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("Apple", "apricot", "avocado"), server.getSuggestions(player, "test a"));
+		assertEquals(List.of("Apple", "apricot"), server.getSuggestions(player, "test AP"));
+		assertEquals(List.of("Cherry"), server.getSuggestions(player, "test ch"));
+		assertEquals(List.of(), server.getSuggestions(player, "test x"));
+
+		// What has already been typed isn't suggested
+		assertEquals(List.of(), server.getSuggestions(player, "test apricot"));
+
+		// Only the first matches (in alphabetical order) are suggested
+		assertEquals(List.of("Apple", "apricot"), server.getSuggestions(player, "limited "));
+		assertEquals(List.of("Apple", "apricot"), server.getSuggestions(player, "limited a"));
+		assertEquals(List.of("avocado"), server.getSuggestions(player, "limited av"));
+
+		assertEquals(List.of("Apple"), server.getSuggestions(player, "tooltips a"));
+
+		// Included suggestions are merged with the argument's own suggestions
+		assertEquals(List.of("false", "falsey", "Maybe", "true"), server.getSuggestions(player, "included "));
+		assertEquals(List.of("false", "falsey"), server.getSuggestions(player, "included f"));
+	}
+
+	@Test
+	public void testFuzzySuggestions() {
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("fruit")
+				.replaceSuggestions(ArgumentSuggestions.fuzzy(List.of("apple", "apricot", "banana", "grape", "pineapple"), 2)))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertEquals(List.of("apple", "apricot"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("apple", "apricot"), server.getSuggestions(player, "test ap"));
+		assertEquals(List.of("apple"), server.getSuggestions(player, "test aple"));
+		assertEquals(List.of("grape"), server.getSuggestions(player, "test grapw"));
+		assertEquals(List.of(), server.getSuggestions(player, "test xyz"));
+	}
+
+	@Test
+	public void testMaxSuggestions() {
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("first")
+				.replaceSuggestions(ArgumentSuggestions.strings("a", "b", "c", "d", "e"))
+				.setMaxSuggestions(3))
+			.withArguments(new StringArgument("second")
+				.replaceSuggestions(ArgumentSuggestions.strings("a", "b", "c", "d", "e"))
+				.setMaxSuggestions(2)
+				.setSuggestionComparator(Comparator.comparing(suggestion -> suggestion.getText(), Comparator.reverseOrder())))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		PlayerMock player = server.addPlayer();
+		assertEquals(List.of("a", "b", "c"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("e", "d"), server.getSuggestions(player, "test a "));
+	}
+
+	@Test
+	public void testMaxSuggestionsKeepsVanillaProviders() {
+		new CommandAPICommand("test")
+			.withArguments(new EntityTypeArgument("entity").setMaxSuggestions(1))
+			.executesPlayer((player, args) -> {
+			})
+			.register();
+
+		// The provider must not be wrapped, otherwise the client can't suggest entities itself
+		ArgumentCommandNode<?, ?> node = (ArgumentCommandNode<?, ?>) Brigadier.getRootNode().getChild("test").getChild("entity");
+		assertSame(CommandAPIHandler.getInstance().getNMS().getSuggestionProvider(SuggestionProviders.ENTITIES),
+			node.getCustomSuggestions());
+	}
 	
 //	@Test
 //	public void testAxisArgumentSuggestions() {
@@ -49,6 +49,7 @@ public class CommandAPIMain extends JavaPlugin {
 
 		// Check dependencies for CommandAPI
 		CommandAPIHandler.getInstance().checkDependencies();
+		CommandAPIHandler.getInstance().startProfiling();
 
 		// Convert all plugins to be converted
 		for (Entry<JavaPlugin, String[]> pluginToConvert : CommandAPI.config.getPluginsToConvert()) {